@@ -146,6 +146,7 @@ type Stats = {
 
 interface MonthlyFee {
   month: string
+  year?: number
   collected: number
   pending: number
   overdue: number
@@ -364,7 +365,8 @@ export default function DashboardPage() {
        // 2️⃣ Monthly Fee Trend
         const monthlyRes = await fetch(`${apiBaseUrl}/api/students/fee/monthly`,{headers})
         const monthlyJson: MonthlyFee[] = await monthlyRes.json()
-        setMonthlyData(monthlyJson)
+        // the trend can span several years, so label each point "Apr 24" rather than just "Apr"
+        setMonthlyData(monthlyJson.map((m) => ({ ...m, month: m.year ? `${m.month} ${String(m.year).slice(-2)}` : m.month })))
      }
       catch(err){
         
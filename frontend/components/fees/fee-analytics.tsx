@@ -30,6 +30,7 @@ interface FeeSummary {
 
 interface MonthlyFee {
   month: string
+  year?: number
   collected: number
   pending: number
   overdue: number
@@ -77,7 +78,8 @@ export default function FeeAnalytics() {
         // 2️⃣ Monthly Fee Trend
         const monthlyRes = await fetch(`${apiBaseUrl}/api/students/fee/monthly`,{headers})
         const monthlyJson: MonthlyFee[] = await monthlyRes.json()
-        setMonthlyData(monthlyJson)
+        // the trend can span several years, so label each point "Apr 24" rather than just "Apr"
+        setMonthlyData(monthlyJson.map((m) => ({ ...m, month: m.year ? `${m.month} ${String(m.year).slice(-2)}` : m.month })))
 
         // 3️⃣ Class-wise Collection
         const classRes = await fetch(`${apiBaseUrl}/api/students/fee/classwise`,{headers})
@@ -1,10 +1,8 @@
 package com.school.kps;
 
 
-import org.modelmapper.ModelMapper;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.context.annotation.Bean;
 
 @SpringBootApplication
 public class KpsApplication {
@@ -13,11 +11,6 @@ public class KpsApplication {
 		SpringApplication.run(KpsApplication.class, args);
 	}
 
-    @Bean
-    public ModelMapper modelMapper(){
-        return new ModelMapper();
-    }
-
 }
 
 
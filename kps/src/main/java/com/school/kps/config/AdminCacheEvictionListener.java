@@ -0,0 +1,37 @@
+package com.school.kps.config;
+
+import com.school.kps.entity.Admin;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Drops cached principals whenever an admin's password, role or email changes. The old email
+// is not known after an update and the admin table is tiny, so the whole cache is cleared.
+@Component
+public class AdminCacheEvictionListener {
+
+    private final PrincipalCache principalCache;
+
+    public AdminCacheEvictionListener(PrincipalCache principalCache) {
+        this.principalCache = principalCache;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void adminChanged(Admin admin) {
+        this.principalCache.evictAll();
+        // Evict again once committed, in case a request reloaded the old row in between
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    principalCache.evictAll();
+                }
+            });
+        }
+    }
+}
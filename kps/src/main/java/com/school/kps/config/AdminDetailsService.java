@@ -8,12 +8,21 @@ import org.springframework.stereotype.Service;
 import java.util.Collections;
 
 @Service
-public class AdminDetailsService implements UserDetailsService {
+public class AdminDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final AdminRepo adminRepo;
+    private final PrincipalCache principalCache;
 
-    public AdminDetailsService(AdminRepo adminRepo) {
+    public AdminDetailsService(AdminRepo adminRepo, PrincipalCache principalCache) {
         this.adminRepo = adminRepo;
+        this.principalCache = principalCache;
+    }
+
+    // Per-request lookup for JwtAuthenticationFilter. Login keeps using loadUserByUsername so the
+    // password is always checked against the table, and the cached instance never has its
+    // credentials erased by the AuthenticationManager.
+    public UserDetails loadPrincipal(String email) throws UsernameNotFoundException {
+        return this.principalCache.get(email, this::loadUserByUsername);
     }
 
     @Override
@@ -27,4 +36,14 @@ public class AdminDetailsService implements UserDetailsService {
                 Collections.singletonList(new SimpleGrantedAuthority(admin.getRole()))
         );
     }
+
+    // Called after a successful login whose stored hash is below the configured BCrypt strength
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        Admin admin = adminRepo.findByEmail(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("Admin not found with email: " + user.getUsername()));
+        admin.setPassword(newPassword);
+        adminRepo.save(admin);
+        return User.withUserDetails(user).password(newPassword).build();
+    }
 }
@@ -0,0 +1,28 @@
+package com.school.kps.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class AnalyticsExecutorConfig {
+
+    // Bounded pool for fanning out read-only report queries; keeps a burst of
+    // dashboard loads from taking more than a few connections off the pool. Once the queue is full
+    // submissions are rejected (AbortPolicy) and the request gets 503 rather than running on the caller
+    @Bean
+    public ThreadPoolTaskExecutor analyticsExecutor(
+            @Value("${analytics.executor.pool-size:4}") int poolSize,
+            @Value("${analytics.executor.queue-capacity:100}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("analytics-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,68 @@
+package com.school.kps.config;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Counters for JwtAuthenticationFilter and the verified-token cache; LongAdder keeps the
+// per-request cost to a striped increment. Read through GET /api/admin/auth-stats.
+@Component
+public class AuthFilterMetrics {
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder authenticated = new LongAdder();
+    private final LongAdder tokenCacheHits = new LongAdder();
+    private final LongAdder tokenCacheMisses = new LongAdder();
+    private final LongAdder revokedRejections = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+
+    public void tokenCacheHit() {
+        this.tokenCacheHits.increment();
+    }
+
+    public void tokenCacheMiss() {
+        this.tokenCacheMisses.increment();
+    }
+
+    public void revokedRejection() {
+        this.revokedRejections.increment();
+    }
+
+    // One bearer-token request through the filter, from header read to security context set
+    public void request(long nanos, boolean wasAuthenticated) {
+        this.requests.increment();
+        if (wasAuthenticated) this.authenticated.increment();
+        this.totalNanos.add(nanos);
+        this.maxNanos.accumulate(nanos);
+    }
+
+    public long getRequests() {
+        return this.requests.sum();
+    }
+
+    public long getAuthenticated() {
+        return this.authenticated.sum();
+    }
+
+    public long getTokenCacheHits() {
+        return this.tokenCacheHits.sum();
+    }
+
+    public long getTokenCacheMisses() {
+        return this.tokenCacheMisses.sum();
+    }
+
+    public long getRevokedRejections() {
+        return this.revokedRejections.sum();
+    }
+
+    public long getTotalNanos() {
+        return this.totalNanos.sum();
+    }
+
+    public long getMaxNanos() {
+        return this.maxNanos.get();
+    }
+}
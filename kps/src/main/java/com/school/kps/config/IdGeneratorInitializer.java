@@ -0,0 +1,47 @@
+package com.school.kps.config;
+
+import com.school.kps.entity.Fee;
+import com.school.kps.entity.Salary;
+import com.school.kps.entity.Student;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+// Tables that used to be IDENTITY keep their existing ids, so the generator row has to start above
+// them; also covers rows inserted by anything that bypasses Hibernate. Runs once every singleton
+// (the schema included) is ready but before the web server starts, so no request can take an old id.
+@Component
+public class IdGeneratorInitializer implements SmartInitializingSingleton {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public void afterSingletonsInstantiated() {
+        align("fees", "fees", "fee_id", Fee.ID_ALLOCATION_SIZE);
+        align("students", "students", "student_id", Student.ID_ALLOCATION_SIZE);
+        align("salaries", "teacher_salary", "salary_id", Salary.ID_ALLOCATION_SIZE);
+    }
+
+    private void align(String segment, String table, String idColumn, int allocationSize) {
+        Long maxId = this.jdbcTemplate.queryForObject(
+                "SELECT COALESCE(MAX(" + idColumn + "), 0) FROM " + table, Long.class);
+        // One block of headroom so the next id is above maxId whether the stored value is read as hi or lo
+        long floor = maxId + allocationSize + 1;
+
+        int updated = this.jdbcTemplate.update(
+                "UPDATE id_generators SET next_val = ? WHERE sequence_name = ? AND next_val < ?",
+                floor, segment, floor);
+        if (updated == 0) {
+            Integer rows = this.jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM id_generators WHERE sequence_name = ?", Integer.class, segment);
+            if (rows == null || rows == 0) {
+                this.jdbcTemplate.update(
+                        "INSERT INTO id_generators (sequence_name, next_val) VALUES (?, ?)", segment, floor);
+            }
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.school.kps.config;
 
 import com.school.kps.util.JwtUtil;
+import io.jsonwebtoken.Claims;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -20,11 +21,16 @@ import java.io.IOException;
 
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtUtil jwtUtil;
+    private final VerifiedTokenCache verifiedTokenCache;
     private final AdminDetailsService adminDetailsService;
+    private final AuthFilterMetrics metrics;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, AdminDetailsService adminDetailsService) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, VerifiedTokenCache verifiedTokenCache,
+                                   AdminDetailsService adminDetailsService, AuthFilterMetrics metrics) {
         this.jwtUtil = jwtUtil;
+        this.verifiedTokenCache = verifiedTokenCache;
         this.adminDetailsService = adminDetailsService;
+        this.metrics = metrics;
     }
 
     @Override
@@ -32,25 +38,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
 
         String header = request.getHeader("Authorization");
-        String token = null;
-        String username = null;
 
         if (StringUtils.hasText(header) && header.startsWith("Bearer ")) {
-            token = header.substring(7);
-            try {
-                username = jwtUtil.extractUsername(token);
-            } catch (Exception e) {
-                // invalid token; proceed without auth
-            }
-        }
-
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = adminDetailsService.loadUserByUsername(username);
-            if (jwtUtil.isTokenValid(token, userDetails.getUsername())) {
-                UsernamePasswordAuthenticationToken authToken =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+            long start = System.nanoTime();
+            boolean authenticated = false;
+            // Signature is checked once per token lifetime; an invalid or revoked token just proceeds without auth
+            Claims claims = verifiedTokenCache.verify(header.substring(7));
+
+            if (claims != null && claims.getSubject() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                UserDetails userDetails = adminDetailsService.loadPrincipal(claims.getSubject());
+                if (jwtUtil.isTokenValid(claims, userDetails.getUsername())) {
+                    UsernamePasswordAuthenticationToken authToken =
+                            new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                    authenticated = true;
+                }
             }
+            metrics.request(System.nanoTime() - start, authenticated);
         }
         chain.doFilter(request, response);
     }
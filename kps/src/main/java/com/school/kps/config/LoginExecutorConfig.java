@@ -0,0 +1,27 @@
+package com.school.kps.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class LoginExecutorConfig {
+
+    // BCrypt checks run here rather than on Tomcat threads, so a burst of logins can use at
+    // most pool-size cores; once the queue is full further logins are turned away
+    @Bean
+    public ThreadPoolTaskExecutor loginExecutor(
+            @Value("${auth.login.pool-size:2}") int poolSize,
+            @Value("${auth.login.queue-capacity:50}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("login-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,37 @@
+package com.school.kps.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+// Resolved request principals by email, so an authenticated call does not go back to the admin table.
+// Entries are dropped when an admin row changes (AdminCacheEvictionListener); the TTL bounds
+// how long an out-of-band SQL edit can go unnoticed.
+@Component
+public class PrincipalCache {
+
+    private final Cache<String, UserDetails> principals;
+
+    public PrincipalCache(
+            @Value("${auth.principal-cache.max-size:1000}") long maxSize,
+            @Value("${auth.principal-cache.ttl:PT5M}") Duration ttl
+    ) {
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public UserDetails get(String email, Function<String, UserDetails> loader) {
+        return this.principals.get(email, loader);
+    }
+
+    public void evictAll() {
+        this.principals.invalidateAll();
+    }
+}
@@ -0,0 +1,75 @@
+package com.school.kps.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.school.kps.payload.ApiResponse;
+import com.school.kps.util.TokenBucket;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Runs after JwtAuthenticationFilter so clients are keyed by admin. Unauthenticated requests are
+// left alone: every limited endpoint answers them with 401 before any table is touched.
+// Over the rate or over the group's concurrency limit fails fast with 429 and Retry-After,
+// before the request can take a Tomcat thread into a table scan.
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RequestThrottle throttle;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(RequestThrottle throttle, ObjectMapper objectMapper) {
+        this.throttle = throttle;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !this.throttle.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        RequestThrottle.Group group = this.throttle.match(path);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (group == null || authentication == null || !authentication.isAuthenticated()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String client = "user:" + authentication.getName();
+        long wait = group.tryConsume(client);
+        if (wait > 0) {
+            reject(response, TokenBucket.retryAfterSeconds(wait), "Rate limit exceeded for " + group.getName());
+            return;
+        }
+        if (!group.tryEnter()) {
+            // The request never ran, so it does not count against the client's rate
+            group.refund(client);
+            reject(response, 1, "Too many concurrent " + group.getName() + " requests");
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            group.exit();
+        }
+    }
+
+    private void reject(HttpServletResponse response, long retryAfterSeconds, String message) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        this.objectMapper.writeValue(response.getOutputStream(), new ApiResponse(message, false));
+    }
+}
@@ -0,0 +1,36 @@
+package com.school.kps.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// rate-limit.* in application.properties; each group is a set of Ant-style paths sharing one
+// per-client token bucket and one concurrency limit
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Upper bound on buckets kept per group; idle clients are dropped first
+    private long maxTrackedClients = 100000;
+
+    private Map<String, Group> groups = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Group {
+        private List<String> paths = new ArrayList<>();
+        private long burst = 10;            // calls a client can make back to back
+        private double perSecond = 1;       // steady rate per client once the burst is spent
+        private int maxConcurrent = 4;      // in-flight calls across all clients
+    }
+}
@@ -0,0 +1,152 @@
+package com.school.kps.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.school.kps.util.TokenBucket;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Endpoint groups from RateLimitProperties, each with per-client token buckets and a bulkhead.
+// Everything on the request path is a CAS or a striped counter; no locks are taken.
+@Component
+public class RequestThrottle {
+
+    // A client idle this long gets a fresh (full) bucket next time
+    private static final Duration IDLE_BUCKET_EXPIRY = Duration.ofMinutes(10);
+
+    private final boolean enabled;
+    private final List<Group> groups;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public RequestThrottle(RateLimitProperties properties) {
+        this.enabled = properties.isEnabled();
+        List<Group> groups = new ArrayList<>();
+        for (Map.Entry<String, RateLimitProperties.Group> entry : properties.getGroups().entrySet()) {
+            groups.add(new Group(entry.getKey(), entry.getValue(), properties.getMaxTrackedClients()));
+        }
+        this.groups = Collections.unmodifiableList(groups);
+    }
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public List<Group> getGroups() {
+        return this.groups;
+    }
+
+    // First group with a matching path, or null when the endpoint is not limited
+    public Group match(String path) {
+        for (Group group : this.groups) {
+            for (String pattern : group.paths) {
+                if (this.pathMatcher.match(pattern, path)) return group;
+            }
+        }
+        return null;
+    }
+
+    public static class Group {
+        private final String name;
+        private final List<String> paths;
+        private final long burst;
+        private final double perSecond;
+        private final int maxConcurrent;
+        private final Cache<String, TokenBucket> buckets;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final LongAccumulator peakInFlight = new LongAccumulator(Long::max, 0);
+        private final LongAdder allowed = new LongAdder();
+        private final LongAdder throttledByRate = new LongAdder();
+        private final LongAdder rejectedByBulkhead = new LongAdder();
+
+        Group(String name, RateLimitProperties.Group config, long maxTrackedClients) {
+            this.name = name;
+            this.paths = List.copyOf(config.getPaths());
+            this.burst = config.getBurst();
+            this.perSecond = config.getPerSecond();
+            this.maxConcurrent = config.getMaxConcurrent();
+            // Fail at startup rather than on the first request
+            new TokenBucket(this.burst, this.perSecond);
+            if (this.maxConcurrent < 1) {
+                throw new IllegalArgumentException("rate-limit.groups." + name + ".max-concurrent must be at least 1");
+            }
+            this.buckets = Caffeine.newBuilder()
+                    .maximumSize(maxTrackedClients)
+                    .expireAfterAccess(IDLE_BUCKET_EXPIRY)
+                    .build();
+        }
+
+        // 0 when the client may proceed, otherwise nanos until its next token
+        public long tryConsume(String client) {
+            long wait = this.buckets.get(client, c -> new TokenBucket(this.burst, this.perSecond)).tryAcquire();
+            if (wait > 0) this.throttledByRate.increment();
+            return wait;
+        }
+
+        // Hands back the token taken by tryConsume for a request that was not let through
+        public void refund(String client) {
+            TokenBucket bucket = this.buckets.getIfPresent(client);
+            if (bucket != null) bucket.refund();
+        }
+
+        // Takes a bulkhead slot; every true must be paired with exit()
+        public boolean tryEnter() {
+            while (true) {
+                int current = this.inFlight.get();
+                if (current >= this.maxConcurrent) {
+                    this.rejectedByBulkhead.increment();
+                    return false;
+                }
+                if (this.inFlight.compareAndSet(current, current + 1)) {
+                    this.allowed.increment();
+                    this.peakInFlight.accumulate(current + 1);
+                    return true;
+                }
+            }
+        }
+
+        public void exit() {
+            this.inFlight.decrementAndGet();
+        }
+
+        public String getName() {
+            return this.name;
+        }
+
+        public int getMaxConcurrent() {
+            return this.maxConcurrent;
+        }
+
+        public int getInFlight() {
+            return this.inFlight.get();
+        }
+
+        public long getPeakInFlight() {
+            return this.peakInFlight.get();
+        }
+
+        public long getAllowed() {
+            return this.allowed.sum();
+        }
+
+        public long getThrottledByRate() {
+            return this.throttledByRate.sum();
+        }
+
+        public long getRejectedByBulkhead() {
+            return this.rejectedByBulkhead.sum();
+        }
+
+        public long getTrackedClients() {
+            return this.buckets.estimatedSize();
+        }
+    }
+}
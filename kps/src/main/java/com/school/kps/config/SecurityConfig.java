@@ -1,6 +1,7 @@
 package com.school.kps.config;
 
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.school.kps.util.JwtUtil;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -20,18 +21,30 @@ public class SecurityConfig {
     private final AdminDetailsService adminDetailsService;
     private final JwtUtil jwtUtil;
     private final PasswordEncoder passwordEncoder;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final AuthFilterMetrics authFilterMetrics;
+    private final RequestThrottle requestThrottle;
+    private final ObjectMapper objectMapper;
 
     public SecurityConfig(AdminDetailsService adminDetailsService,
                           JwtUtil jwtUtil,
-                          PasswordEncoder passwordEncoder) {
+                          PasswordEncoder passwordEncoder,
+                          VerifiedTokenCache verifiedTokenCache,
+                          AuthFilterMetrics authFilterMetrics,
+                          RequestThrottle requestThrottle,
+                          ObjectMapper objectMapper) {
         this.adminDetailsService = adminDetailsService;
         this.jwtUtil = jwtUtil;
         this.passwordEncoder = passwordEncoder;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.authFilterMetrics = authFilterMetrics;
+        this.requestThrottle = requestThrottle;
+        this.objectMapper = objectMapper;
     }
 
     @Bean
     public JwtAuthenticationFilter jwtAuthenticationFilter() {
-        return new JwtAuthenticationFilter(jwtUtil, adminDetailsService);
+        return new JwtAuthenticationFilter(jwtUtil, verifiedTokenCache, adminDetailsService, authFilterMetrics);
     }
 
     @Bean
@@ -63,6 +76,10 @@ public class SecurityConfig {
         // add JWT filter before UsernamePasswordAuthenticationFilter
         http.addFilterBefore(jwtAuthenticationFilter(), UsernamePasswordAuthenticationFilter.class);
 
+        // per-client rate limit and bulkhead for expensive endpoints; not a @Bean so it is only
+        // registered here, after the JWT filter has identified the caller
+        http.addFilterAfter(new RateLimitFilter(requestThrottle, objectMapper), JwtAuthenticationFilter.class);
+
         return http.build();
     }
 
@@ -71,6 +88,7 @@ public class SecurityConfig {
         DaoAuthenticationProvider prov = new DaoAuthenticationProvider();
         prov.setUserDetailsService(adminDetailsService);
         prov.setPasswordEncoder(passwordEncoder);
+        prov.setUserDetailsPasswordService(adminDetailsService);
         return prov;
     }
 
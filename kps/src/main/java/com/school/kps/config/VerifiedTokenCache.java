@@ -0,0 +1,112 @@
+package com.school.kps.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.school.kps.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+// Verified claims keyed by a SHA-256 digest of the token, so a token is signature-checked and
+// decoded once for its whole life instead of on every request. Keying by digest keeps the bearer
+// tokens themselves out of the heap. Each entry expires at the token's own exp claim.
+// Revocations are held until the revoked token would have expired anyway; both caches are
+// per instance.
+@Component
+public class VerifiedTokenCache {
+
+    private final JwtUtil jwtUtil;
+    private final AuthFilterMetrics metrics;
+    private final Cache<String, Claims> verified;
+    private final Cache<String, Claims> revoked;
+
+    public VerifiedTokenCache(
+            JwtUtil jwtUtil,
+            AuthFilterMetrics metrics,
+            @Value("${auth.token-cache.max-size:10000}") long maxSize
+    ) {
+        this.jwtUtil = jwtUtil;
+        this.metrics = metrics;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(untilTokenExpiry())
+                .build();
+        // Not size-bounded: dropping a revocation early would let the token back in
+        this.revoked = Caffeine.newBuilder()
+                .expireAfter(untilTokenExpiry())
+                .build();
+    }
+
+    // Verified claims for the token, or null when it is invalid, expired or revoked
+    public Claims verify(String token) {
+        String digest = digest(token);
+        if (this.revoked.getIfPresent(digest) != null) {
+            this.metrics.revokedRejection();
+            return null;
+        }
+        Claims claims = this.verified.getIfPresent(digest);
+        if (claims != null) {
+            this.metrics.tokenCacheHit();
+            return claims;
+        }
+        this.metrics.tokenCacheMiss();
+        claims = this.jwtUtil.validateToken(token);
+        if (claims != null && claims.getExpiration() != null) {
+            this.verified.put(digest, claims);
+        }
+        return claims;
+    }
+
+    // Revoke a still-valid token (logout); false when it is already invalid or expired
+    public boolean revoke(String token) {
+        Claims claims = this.jwtUtil.validateToken(token);
+        if (claims == null || claims.getExpiration() == null) return false;
+        String digest = digest(token);
+        this.revoked.put(digest, claims);
+        this.verified.invalidate(digest);
+        return true;
+    }
+
+    public long verifiedSize() {
+        return this.verified.estimatedSize();
+    }
+
+    public long revokedSize() {
+        return this.revoked.estimatedSize();
+    }
+
+    private static Expiry<String, Claims> untilTokenExpiry() {
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                long remainingMs = claims.getExpiration().getTime() - System.currentTimeMillis();
+                return Math.max(0, remainingMs) * 1_000_000L;
+            }
+
+            @Override
+            public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                return expireAfterCreate(key, claims, currentTime);
+            }
+
+            @Override
+            public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        };
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -2,14 +2,29 @@ package com.school.kps.controller;
 
 
 import com.school.kps.payload.AdminDto;
+import com.school.kps.payload.ApiResponse;
+import com.school.kps.payload.AuthStatsDto;
+import com.school.kps.payload.CacheRegionStatsDto;
+import com.school.kps.payload.FeeSummaryDto;
+import com.school.kps.payload.LoginStatsDto;
+import com.school.kps.payload.RateLimitGroupStatsDto;
 import com.school.kps.service.AdminServices;
+import com.school.kps.service.AuthStatsServices;
+import com.school.kps.service.CacheStatsServices;
+import com.school.kps.service.EnrollmentCounterServices;
+import com.school.kps.service.FeeAggregateServices;
+import com.school.kps.service.FeeRollupServices;
+import com.school.kps.service.LoginServices;
+import com.school.kps.service.RateLimitStatsServices;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -19,9 +34,74 @@ public class AdminController {
     @Autowired
     private AdminServices adminServices;
 
+    @Autowired
+    private FeeAggregateServices feeAggregateServices;
+
+    @Autowired
+    private FeeRollupServices feeRollupServices;
+
+    @Autowired
+    private CacheStatsServices cacheStatsServices;
+
+    @Autowired
+    private EnrollmentCounterServices enrollmentCounterServices;
+
+    @Autowired
+    private AuthStatsServices authStatsServices;
+
+    @Autowired
+    private LoginServices loginServices;
+
+    @Autowired
+    private RateLimitStatsServices rateLimitStatsServices;
+
     @GetMapping
     public ResponseEntity<List<AdminDto>> getAdmin() {
         List<AdminDto> adminDto = adminServices.getAdmin();
         return ResponseEntity.ok().body(adminDto);
     }
+
+    // Recompute the fee summary totals from the fees table, e.g. after manual SQL edits
+    @PostMapping("/fee-summary/rebuild")
+    public ResponseEntity<FeeSummaryDto> rebuildFeeSummary() {
+        return ResponseEntity.ok(this.feeAggregateServices.rebuild());
+    }
+
+    // Recompute the daily fee rollup for every closed day
+    @PostMapping("/fee-rollup/rebuild")
+    public ResponseEntity<ApiResponse> rebuildFeeRollup() {
+        LocalDate closedThrough = this.feeRollupServices.rebuild();
+        return ResponseEntity.ok(new ApiResponse("Fee rollup rebuilt through " + closedThrough, true));
+    }
+
+    // Recompute the per-month enrollment counters from the students table
+    @PostMapping("/enrollments/rebuild")
+    public ResponseEntity<ApiResponse> rebuildEnrollments() {
+        long students = this.enrollmentCounterServices.rebuild();
+        return ResponseEntity.ok(new ApiResponse("Enrollment counters rebuilt for " + students + " students", true));
+    }
+
+    // Second-level and query cache hit/miss counters per region, for sizing application.conf
+    @GetMapping("/cache-stats")
+    public ResponseEntity<List<CacheRegionStatsDto>> getCacheStats() {
+        return ResponseEntity.ok(this.cacheStatsServices.getRegionStats());
+    }
+
+    // JWT filter hit rate and latency, plus verified/revoked token cache sizes
+    @GetMapping("/auth-stats")
+    public ResponseEntity<AuthStatsDto> getAuthStats() {
+        return ResponseEntity.ok(this.authStatsServices.getAuthStats());
+    }
+
+    // Login executor queue depth, BCrypt verification time and throttling counters
+    @GetMapping("/login-stats")
+    public ResponseEntity<LoginStatsDto> getLoginStats() {
+        return ResponseEntity.ok(this.loginServices.getLoginStats());
+    }
+
+    // Per endpoint group: calls allowed, 429s from the rate limit and the bulkhead, in-flight peak
+    @GetMapping("/rate-limit-stats")
+    public ResponseEntity<List<RateLimitGroupStatsDto>> getRateLimitStats() {
+        return ResponseEntity.ok(this.rateLimitStatsServices.getGroupStats());
+    }
 }
@@ -1,45 +1,60 @@
 package com.school.kps.controller;
 
 // AuthController.java
+import com.school.kps.config.VerifiedTokenCache;
+import com.school.kps.payload.ApiResponse;
 import com.school.kps.payload.AuthRequest;
 import com.school.kps.payload.AuthResponse;
 import com.school.kps.repository.AdminRepo;
-import com.school.kps.util.JwtUtil;
+import com.school.kps.service.LoginServices;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.*;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 @RestController
 @RequestMapping("/api/auth")
 @CrossOrigin("*")
 public class AuthController {
 
-    private final AuthenticationManager authenticationManager;
-
-    private final JwtUtil jwtUtil;
+    private final LoginServices loginServices;
 
     private final AdminRepo adminRepo;
 
-    public AuthController(AuthenticationManager authenticationManager, JwtUtil jwtUtil, AdminRepo adminRepo) {
-        this.authenticationManager = authenticationManager;
-        this.jwtUtil = jwtUtil;
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    public AuthController(LoginServices loginServices, AdminRepo adminRepo, VerifiedTokenCache verifiedTokenCache) {
+        this.loginServices = loginServices;
         this.adminRepo= adminRepo;
+        this.verifiedTokenCache = verifiedTokenCache;
     }
 
+    // Password check runs on the login executor; the Tomcat thread is released while it waits.
+    // Throttled or queue-full logins fail straight away with 429 and Retry-After.
+    // Behind a trusted proxy getRemoteAddr() is the client from X-Forwarded-For (server.forward-headers-strategy).
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody AuthRequest request) {
-        try {
-            Authentication auth = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
-            );
-            // authenticated
-            String jwt = jwtUtil.generateToken(request.getEmail());
-            return ResponseEntity.ok(new AuthResponse(jwt));
-        } catch (BadCredentialsException ex) {
-            return ResponseEntity.status(401).body("Invalid credentials");
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody AuthRequest request, HttpServletRequest httpRequest) {
+        return loginServices.login(request, httpRequest.getRemoteAddr())
+                .<ResponseEntity<?>>thenApply(jwt -> ResponseEntity.ok(new AuthResponse(jwt)))
+                .exceptionally(ex -> {
+                    Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                    if (cause instanceof BadCredentialsException) {
+                        return ResponseEntity.status(401).body("Invalid credentials");
+                    }
+                    throw new CompletionException(cause);
+                });
+    }
+
+    // Revoke the presented token until it would have expired anyway
+    @PostMapping("/logout")
+    public ResponseEntity<ApiResponse> logout(@RequestHeader(value = "Authorization", required = false) String header) {
+        if (header == null || !header.startsWith("Bearer ") || !verifiedTokenCache.revoke(header.substring(7))) {
+            return ResponseEntity.badRequest().body(new ApiResponse("No valid token to revoke", false));
         }
+        return ResponseEntity.ok(new ApiResponse("Logged out", true));
     }
 }
-
@@ -0,0 +1,25 @@
+package com.school.kps.controller;
+
+import com.school.kps.payload.DashboardDto;
+import com.school.kps.service.DashboardServices;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@CrossOrigin("*")
+public class DashboardController {
+
+    @Autowired
+    private DashboardServices dashboardServices;
+
+    // Everything the dashboard page needs in one call
+    @GetMapping
+    public ResponseEntity<DashboardDto> getDashboard(
+            @RequestParam(value = "academicYear", required = false) String academicYear,
+            @RequestParam(value = "year", required = false) Integer year
+    ) {
+        return ResponseEntity.ok(this.dashboardServices.getDashboard(academicYear, year));
+    }
+}
@@ -3,11 +3,16 @@ package com.school.kps.controller;
 import com.school.kps.payload.*;
 import com.school.kps.service.FeeServices;
 import org.springframework.beans.factory.annotation.Autowired;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -24,6 +29,14 @@ public class FeeController {
         return new ResponseEntity<>(fee, HttpStatus.OK);
     }
 
+    // Many fees in one call; each row gets its own result. Invalid rows are skipped, and a database error
+    // fails only the rows of the chunk (500 rows, one transaction) it happened in
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkFeeResponseDto> addFees(@RequestBody List<FeeDto> feeDtos) {
+        BulkFeeResponseDto response = this.feeServices.addFees(feeDtos);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
     @PutMapping("/{feeId}") //*********** Think and Do
     public ResponseEntity<FeeDto> updateFee(@RequestBody FeeDto feeDto, @PathVariable Integer feeId) {
         FeeDto fee = this.feeServices.updateFee(feeDto, feeId);
@@ -36,8 +49,11 @@ public class FeeController {
         return new ResponseEntity<>(fee, HttpStatus.OK);
     }
 
+    // paging=page (default) is offset paging with a total; paging=slice skips the total (count=approx adds the
+    // aggregate fee count when only paymentStatus is filtered, otherwise a cached exact count); paging=cursor
+    // returns keyset pages linked by nextCursor
     @GetMapping("/")
-    public ResponseEntity<Page<FeeDto>> getAllFees(
+    public ResponseEntity<?> getAllFees(
             @RequestParam(value = "pageNumber", defaultValue = "0") int pageNumber,
             @RequestParam(value = "pageSize", defaultValue = "10") int pageSize,
             @RequestParam(value = "sortBy", defaultValue = "id") String sortBy,
@@ -47,8 +63,26 @@ public class FeeController {
             @RequestParam(value = "paymentMode", required = false) String paymentMode,
             @RequestParam(value = "dateFrom", required = false) String dateFrom,
             @RequestParam(value = "dateTo", required = false) String dateTo,
-            @RequestParam(value = "search", required = false) String search
+            @RequestParam(value = "search", required = false) String search,
+            @RequestParam(value = "paging", defaultValue = "page") String paging,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "count", defaultValue = "none") String count
     ) {
+        if ("cursor".equalsIgnoreCase(paging)) {
+            CursorPageDto<FeeDto> fees = this.feeServices.getFeesAfter(
+                    cursor, pageSize, sortBy, sortDir,
+                    className, paymentStatus, paymentMode, dateFrom, dateTo, search
+            );
+            return ResponseEntity.ok(fees);
+        }
+        if ("slice".equalsIgnoreCase(paging)) {
+            SlicePageDto<FeeDto> fees = this.feeServices.getFeesSlice(
+                    pageNumber, pageSize, sortBy, sortDir,
+                    className, paymentStatus, paymentMode, dateFrom, dateTo, search,
+                    "approx".equalsIgnoreCase(count)
+            );
+            return ResponseEntity.ok(fees);
+        }
         Page<FeeDto> fees = this.feeServices.getAllFees(
                 pageNumber, pageSize, sortBy, sortDir,
                 className, paymentStatus, paymentMode, dateFrom, dateTo, search
@@ -56,6 +90,26 @@ public class FeeController {
         return ResponseEntity.ok(fees);
     }
 
+    // Streams every matching fee as CSV or NDJSON; accepts the same filters as the list endpoint
+    @GetMapping("/export")
+    public void exportFees(
+            @RequestParam(value = "format", defaultValue = "csv") String format,
+            @RequestParam(value = "className", required = false) String className,
+            @RequestParam(value = "paymentStatus", required = false) String paymentStatus,
+            @RequestParam(value = "paymentMode", required = false) String paymentMode,
+            @RequestParam(value = "dateFrom", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateFrom,
+            @RequestParam(value = "dateTo", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateTo,
+            @RequestParam(value = "search", required = false) String search,
+            HttpServletResponse response
+    ) throws IOException {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        response.setContentType(csv ? "text/csv;charset=UTF-8" : "application/x-ndjson;charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"fees." + (csv ? "csv" : "ndjson") + "\"");
+        this.feeServices.exportFees(response.getOutputStream(), format,
+                className, paymentStatus, paymentMode, dateFrom, dateTo, search);
+    }
+
     @GetMapping("/fId/{feeId}")
     public ResponseEntity<FeeDto> getFee(@PathVariable Integer feeId) {
         FeeDto fee = this.feeServices.getFeeById(feeId);
@@ -105,21 +159,35 @@ public class FeeController {
         return ResponseEntity.ok(this.feeServices.getFeeSummary());
     }
 
+    // April to March of academicYear when given; otherwise every month from the first to the last payment,
+    // so the same month of different years comes back as separate entries told apart by year
     @GetMapping("/monthly")
-    public ResponseEntity<List<MonthlyFeeDto>> getMonthlyFeeTrend() {
-        return ResponseEntity.ok(this.feeServices.getMonthlyFeeTrend());
+    public ResponseEntity<List<MonthlyFeeDto>> getMonthlyFeeTrend(
+            @RequestParam(value = "academicYear", required = false) String academicYear,
+            @RequestParam(value = "dateFrom", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateFrom,
+            @RequestParam(value = "dateTo", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateTo
+    ) {
+        return ResponseEntity.ok(this.feeServices.getMonthlyFeeTrend(academicYear, dateFrom, dateTo));
     }
 
     // 3️⃣ Class-wise Collection
     @GetMapping("/classwise")
-    public ResponseEntity<List<ClassWiseFeeDto>> getClassWiseCollection() {
-        return ResponseEntity.ok(this.feeServices.getClassWiseCollection());
+    public ResponseEntity<List<ClassWiseFeeDto>> getClassWiseCollection(
+            @RequestParam(value = "academicYear", required = false) String academicYear,
+            @RequestParam(value = "dateFrom", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateFrom,
+            @RequestParam(value = "dateTo", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateTo
+    ) {
+        return ResponseEntity.ok(this.feeServices.getClassWiseCollection(academicYear, dateFrom, dateTo));
     }
 
     // 4️⃣ Payment Mode Distribution
     @GetMapping("/payment-modes")
-    public ResponseEntity<List<PaymentModeDto>> getPaymentModeDistribution() {
-        return ResponseEntity.ok(this.feeServices.getPaymentModeDistribution());
+    public ResponseEntity<List<PaymentModeDto>> getPaymentModeDistribution(
+            @RequestParam(value = "academicYear", required = false) String academicYear,
+            @RequestParam(value = "dateFrom", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateFrom,
+            @RequestParam(value = "dateTo", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateTo
+    ) {
+        return ResponseEntity.ok(this.feeServices.getPaymentModeDistribution(academicYear, dateFrom, dateTo));
     }
 
 
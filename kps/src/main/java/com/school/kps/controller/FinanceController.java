@@ -0,0 +1,22 @@
+package com.school.kps.controller;
+
+import com.school.kps.payload.CashFlowDto;
+import com.school.kps.service.FinanceServices;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/finance")
+@CrossOrigin("*")
+public class FinanceController {
+
+    @Autowired
+    private FinanceServices financeServices;
+
+    // Fee income minus salaries per month of the academic year (April to March); defaults to the current one
+    @GetMapping("/cashflow")
+    public ResponseEntity<CashFlowDto> getCashFlow(@RequestParam(required = false) String academicYear) {
+        return ResponseEntity.ok(this.financeServices.getCashFlow(academicYear));
+    }
+}
@@ -1,12 +1,16 @@
 package com.school.kps.controller;
 
+import com.school.kps.payload.PayrollRunDto;
 import com.school.kps.payload.SalaryDto;
 import com.school.kps.service.SalaryServices;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -16,11 +20,28 @@ public class SalaryController {
     @Autowired
     private SalaryServices salaryServices;
 
+    // Without page or filters this is still the full list; any of them switches to a paged response
     @GetMapping("/")
-    public ResponseEntity<List<SalaryDto>> getAllSalaries(){
-        List<SalaryDto> salaries = this.salaryServices.getAllSalaries();
+    public ResponseEntity<?> getAllSalaries(
+            @RequestParam(required = false) Integer page,
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(defaultValue = "paymentDate") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateTo){
+        if (page == null && status == null && dateFrom == null && dateTo == null) {
+            List<SalaryDto> salaries = this.salaryServices.getAllSalaries();
+            return new  ResponseEntity<>(salaries,HttpStatus.OK);
+        }
+        Page<SalaryDto> salaries = this.salaryServices.getSalaries(page != null ? page : 0, size, sortBy, sortDir, status, dateFrom, dateTo);
         return new  ResponseEntity<>(salaries,HttpStatus.OK);
+    }
 
+    @GetMapping("/teacher/{teacherId}")
+    public ResponseEntity<List<SalaryDto>> getSalariesByTeacherId(@PathVariable Integer teacherId){
+        List<SalaryDto> salaries = this.salaryServices.getSalariesByTeacherId(teacherId);
+        return new  ResponseEntity<>(salaries,HttpStatus.OK);
     }
 
     @PostMapping("/create/{id}")
@@ -35,6 +56,15 @@ public class SalaryController {
         return new  ResponseEntity<>(salary,HttpStatus.OK);
     }
 
+    // Salary rows for every active teacher for period=yyyy-MM; dryRun=true only reports what would be created
+    @PostMapping("/payroll")
+    public ResponseEntity<PayrollRunDto> runPayroll(@RequestParam String period,
+                                                    @RequestParam(defaultValue = "false") boolean dryRun,
+                                                    @RequestParam(defaultValue = "Bank Transfer") String paymentMode) {
+        PayrollRunDto run = this.salaryServices.runPayroll(period, dryRun, paymentMode);
+        return new ResponseEntity<>(run, dryRun ? HttpStatus.OK : HttpStatus.CREATED);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<SalaryDto> getSalaryById(@PathVariable Integer id){
         SalaryDto salary = this.salaryServices.getSalaryById(id);
@@ -1,14 +1,22 @@
 package com.school.kps.controller;
 
+import com.school.kps.payload.CursorPageDto;
 import com.school.kps.payload.EnrollmentByMonth;
+import com.school.kps.payload.EnrollmentYearDto;
+import com.school.kps.payload.SlicePageDto;
 import com.school.kps.payload.StudentDto;
+import com.school.kps.payload.StudentImportResponseDto;
+import com.school.kps.payload.StudentProfileDto;
+import com.school.kps.service.StudentImportServices;
 import com.school.kps.service.StudentServices;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
@@ -20,12 +28,24 @@ public class StudentController {
     @Autowired
     private StudentServices studentServices;
 
+    @Autowired
+    private StudentImportServices studentImportServices;
+
     @PostMapping("/create")
     public ResponseEntity<StudentDto> createStudent(@RequestBody StudentDto studentDto) {
         StudentDto student = this.studentServices.createStudent(studentDto);
         return new ResponseEntity<>(student, HttpStatus.CREATED);
     }
 
+    // Body is the raw file (format=csv with a header row, or format=ndjson), read as it arrives
+    @PostMapping("/import")
+    public ResponseEntity<StudentImportResponseDto> importStudents(
+            @RequestParam(defaultValue = "csv") String format,
+            HttpServletRequest request) throws IOException {
+        StudentImportResponseDto response = this.studentImportServices.importStudents(request.getInputStream(), format);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<StudentDto> updateStudent(@RequestBody StudentDto studentDto, @PathVariable Integer id) {
         StudentDto student = this.studentServices.updateStudent(studentDto, id);
@@ -44,8 +64,17 @@ public class StudentController {
         return new ResponseEntity<>(student, HttpStatus.OK);
     }
 
+    // Student plus fee history and totals in one call (replaces /{id} followed by /fee/sId/{id})
+    @GetMapping("/{id}/profile")
+    public ResponseEntity<StudentProfileDto> getStudentProfile(@PathVariable Integer id) {
+        StudentProfileDto profile = this.studentServices.getStudentProfile(id);
+        return new ResponseEntity<>(profile, HttpStatus.OK);
+    }
+
+    // paging=page (default) is offset paging with a total; paging=slice skips the total (count=approx adds a
+    // cached estimate); paging=cursor returns keyset pages linked by nextCursor
     @GetMapping("/")
-    public Page<StudentDto> getAllStudents(
+    public ResponseEntity<?> getAllStudents(
             @RequestParam(defaultValue = "0") Integer page,
             @RequestParam(defaultValue = "10") Integer size,
             @RequestParam(defaultValue = "id") String sortBy,
@@ -53,9 +82,20 @@ public class StudentController {
             @RequestParam(required = false) String search,
             @RequestParam(required = false) String className,
             @RequestParam(required = false) String gender,
-            @RequestParam(required = false) String location) {
-
-        return this.studentServices.findAllStudents(page, size, sortBy, sortDir, search, className, gender, location);
+            @RequestParam(required = false) String location,
+            @RequestParam(defaultValue = "page") String paging,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "none") String count) {
+
+        if ("cursor".equalsIgnoreCase(paging)) {
+            CursorPageDto<StudentDto> students = this.studentServices.findStudentsAfter(cursor, size, sortBy, sortDir, search, className, gender, location);
+            return ResponseEntity.ok(students);
+        }
+        if ("slice".equalsIgnoreCase(paging)) {
+            SlicePageDto<StudentDto> students = this.studentServices.findStudentsSlice(page, size, sortBy, sortDir, search, className, gender, location, "approx".equalsIgnoreCase(count));
+            return ResponseEntity.ok(students);
+        }
+        return ResponseEntity.ok(this.studentServices.findAllStudents(page, size, sortBy, sortDir, search, className, gender, location));
     }
 
 //    @GetMapping("/search/name/{name}")
@@ -91,8 +131,14 @@ public class StudentController {
         return this.studentServices.getClassWiseStudentCount();
     }
 
+    // year=2024 for one year (omitted: all years summed per month); years=2023,2024,2025 compares years side by side
     @GetMapping("/enrollments")
-    public ResponseEntity<List<EnrollmentByMonth>> getEnrollments(@RequestParam(required = false) Integer year) {
+    public ResponseEntity<?> getEnrollments(@RequestParam(required = false) Integer year,
+                                            @RequestParam(required = false) List<Integer> years) {
+        if (years != null && !years.isEmpty()) {
+            List<EnrollmentYearDto> comparison = this.studentServices.getEnrollmentComparison(years);
+            return ResponseEntity.ok(comparison);
+        }
         List<EnrollmentByMonth> response = this.studentServices.getEnrollmentByMonth(year);
         return ResponseEntity.ok(response);
     }
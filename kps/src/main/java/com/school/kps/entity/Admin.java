@@ -1,13 +1,19 @@
 package com.school.kps.entity;
 
 
+import com.school.kps.config.AdminCacheEvictionListener;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.*;
 
 @Data
 @NoArgsConstructor
 @Entity
 @Table(name = "admin")
+@EntityListeners(AdminCacheEvictionListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "admin")
 @Getter
 @Setter
 @AllArgsConstructor
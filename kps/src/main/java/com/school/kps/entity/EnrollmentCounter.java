@@ -0,0 +1,34 @@
+package com.school.kps.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Current students per admission month, kept in step with every admission and withdrawal
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "enrollment_counters",
+        uniqueConstraints = @UniqueConstraint(name = "uk_enrollment_counter_month", columnNames = {"year", "month"}))
+public class EnrollmentCounter {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private int year;
+
+    @Column(nullable = false)
+    private int month;  // 1..12
+
+    @Column(nullable = false)
+    private long students;
+
+    public EnrollmentCounter(int year, int month, long students) {
+        this.year = year;
+        this.month = month;
+        this.students = students;
+    }
+}
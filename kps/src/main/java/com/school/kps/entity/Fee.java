@@ -13,10 +13,15 @@ import java.util.Date;
 @Getter
 @Setter
 @NoArgsConstructor
-@Table(name = "fees")
+@Table(name = "fees", indexes = @Index(name = "idx_fees_payment_date", columnList = "payment_date"))
 public class Fee {
+    // Ids come in blocks from a table generator so inserts can be JDBC-batched (IDENTITY cannot be)
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "fee_id_gen")
+    @TableGenerator(name = "fee_id_gen", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "fees", allocationSize = ID_ALLOCATION_SIZE)
     @Column(name = "fee_id")
     private Integer id;
 
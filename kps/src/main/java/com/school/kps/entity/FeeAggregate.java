@@ -0,0 +1,36 @@
+package com.school.kps.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+// Running totals of the fees table per status, kept in step with every fee write
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "fee_aggregates")
+public class FeeAggregate {
+    @Id
+    @Column(length = 20)
+    private String status;  // Paid, Pending, Partially Paid
+
+    @Column(nullable = false)
+    private long feeCount;
+
+    @Column(precision = 14, scale = 2, nullable = false)
+    private BigDecimal amountPaid = BigDecimal.ZERO;
+
+    @Column(precision = 14, scale = 2, nullable = false)
+    private BigDecimal dueAmount = BigDecimal.ZERO;
+
+    public FeeAggregate(String status, long feeCount, BigDecimal amountPaid, BigDecimal dueAmount) {
+        this.status = status;
+        this.feeCount = feeCount;
+        this.amountPaid = amountPaid;
+        this.dueAmount = dueAmount;
+    }
+}
@@ -0,0 +1,47 @@
+package com.school.kps.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Per-day fee totals for closed days; empty strings stand in for missing key values
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "fee_daily_rollups",
+        uniqueConstraints = @UniqueConstraint(name = "uk_fee_daily_rollup_key",
+                columnNames = {"day", "academic_year", "class_name", "payment_mode", "status"}))
+public class FeeDailyRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate day;
+
+    @Column(length = 20, nullable = false)
+    private String academicYear;
+
+    @Column(length = 100, nullable = false)
+    private String className;
+
+    @Column(length = 20, nullable = false)
+    private String paymentMode;
+
+    @Column(length = 20, nullable = false)
+    private String status;
+
+    @Column(nullable = false)
+    private long feeCount;
+
+    @Column(precision = 14, scale = 2, nullable = false)
+    private BigDecimal amountPaid = BigDecimal.ZERO;
+
+    @Column(precision = 14, scale = 2, nullable = false)
+    private BigDecimal dueAmount = BigDecimal.ZERO;
+}
@@ -0,0 +1,23 @@
+package com.school.kps.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+// Single-row marker: fee_daily_rollups holds every day up to and including closedThrough
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "fee_rollup_state")
+public class FeeRollupState {
+    public static final int ID = 1;
+
+    @Id
+    private Integer id = ID;
+
+    private LocalDate closedThrough;
+}
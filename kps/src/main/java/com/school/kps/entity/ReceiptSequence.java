@@ -0,0 +1,22 @@
+package com.school.kps.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Single-row counter: every number below nextValue has been handed to some instance as part of a block
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "receipt_sequence")
+public class ReceiptSequence {
+    public static final int ID = 1;
+
+    @Id
+    private Integer id = ID;
+
+    @Column(nullable = false)
+    private long nextValue = 1;
+}
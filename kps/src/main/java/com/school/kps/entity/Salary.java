@@ -10,10 +10,20 @@ import java.time.LocalDate;
 @Entity
 @Data
 @NoArgsConstructor
-@Table(name = "teacher_salary")
+@Table(name = "teacher_salary",
+        uniqueConstraints = @UniqueConstraint(name = "uk_salary_teacher_period", columnNames = {"teacher_id", "pay_period"}),
+        indexes = {
+                @Index(name = "idx_salary_teacher_payment_date", columnList = "teacher_id, payment_date"),
+                @Index(name = "idx_salary_payment_date", columnList = "payment_date")
+        })
 public class Salary {
+    // Table-generated ids so a payroll run's inserts can be JDBC-batched, same as fees and students
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "salary_id_gen")
+    @TableGenerator(name = "salary_id_gen", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "salaries", allocationSize = ID_ALLOCATION_SIZE)
     @Column(name = "salary_id")
     private Integer id;
 
@@ -32,6 +42,10 @@ public class Salary {
     @Column(columnDefinition = "TEXT")
     private String remarks;
 
+    // yyyy-MM for rows made by a payroll run (one per teacher and month); null for one-off payments
+    @Column(length = 7, name = "pay_period")
+    private String payPeriod;
+
     @ManyToOne
     @JoinColumn(name = "teacher_id", nullable = false)
     private Teacher teacher;
@@ -1,6 +1,8 @@
 package com.school.kps.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -15,9 +17,16 @@ import java.util.List;
 @Setter
 @NoArgsConstructor
 @Table(name = "students")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "students")
 public class Student {
+    // Table-generated ids so imported admissions can be inserted in JDBC batches, same as fees
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "student_id_gen")
+    @TableGenerator(name = "student_id_gen", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "students", allocationSize = ID_ALLOCATION_SIZE)
     @Column(name = "student_id")
     private Integer id;
 
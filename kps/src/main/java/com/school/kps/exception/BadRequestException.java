@@ -0,0 +1,9 @@
+package com.school.kps.exception;
+
+// Input the client can fix (bad parameter, cursor, file); anything else stays a server error
+public class BadRequestException extends RuntimeException {
+
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
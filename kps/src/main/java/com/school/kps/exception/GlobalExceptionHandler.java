@@ -1,7 +1,9 @@
 package com.school.kps.exception;
 
 import com.school.kps.payload.ApiResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -16,4 +18,30 @@ public class GlobalExceptionHandler {
       ApiResponse apiResponse = new ApiResponse(message,false);
       return new ResponseEntity<>(apiResponse, HttpStatus.NOT_FOUND);
     }
+
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<ApiResponse> badRequestExceptionHandler(BadRequestException ex)
+    {
+      ApiResponse apiResponse = new ApiResponse(ex.getMessage(),false);
+      return new ResponseEntity<>(apiResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ApiResponse> tooManyRequestsExceptionHandler(TooManyRequestsException ex)
+    {
+      ApiResponse apiResponse = new ApiResponse(ex.getMessage(),false);
+      return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+              .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+              .body(apiResponse);
+    }
+
+    // A bounded executor (analytics fan-out) is full: the request is shed instead of queued without limit
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<ApiResponse> taskRejectedExceptionHandler(TaskRejectedException ex)
+    {
+      ApiResponse apiResponse = new ApiResponse("Server is busy, try again shortly",false);
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+              .header(HttpHeaders.RETRY_AFTER, "1")
+              .body(apiResponse);
+    }
 }
@@ -0,0 +1,15 @@
+package com.school.kps.mapper;
+
+import com.school.kps.entity.Admin;
+import com.school.kps.payload.AdminDto;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring")
+public interface AdminMapper {
+
+    AdminDto toDto(Admin admin);
+
+    @Mapping(target = "role", ignore = true)
+    Admin toEntity(AdminDto adminDto);
+}
@@ -0,0 +1,30 @@
+package com.school.kps.mapper;
+
+import com.school.kps.entity.Fee;
+import com.school.kps.payload.FeeDto;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.Named;
+
+@Mapper(componentModel = "spring", uses = StudentMapper.class)
+public interface FeeMapper {
+
+    @Mapping(target = "studentId", source = "student.id")
+    FeeDto toDto(Fee fee);
+
+    // For lists already scoped to one student, without repeating the student in every row
+    @Named("withoutStudent")
+    @Mapping(target = "studentId", source = "student.id")
+    @Mapping(target = "student", ignore = true)
+    FeeDto toDtoWithoutStudent(Fee fee);
+
+    // Student, receipt number, status and due amount are set by the service, never taken from the request
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "student", ignore = true)
+    @Mapping(target = "receiptNumber", ignore = true)
+    @Mapping(target = "status", ignore = true)
+    @Mapping(target = "dueAmount", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    Fee toEntity(FeeDto feeDto);
+}
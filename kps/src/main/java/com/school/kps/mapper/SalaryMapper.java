@@ -0,0 +1,17 @@
+package com.school.kps.mapper;
+
+import com.school.kps.entity.Salary;
+import com.school.kps.payload.SalaryDto;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring", uses = TeacherMapper.class)
+public interface SalaryMapper {
+
+    SalaryDto toDto(Salary salary);
+
+    // The teacher is looked up by id in the service; pay periods are only set by payroll runs
+    @Mapping(target = "teacher", ignore = true)
+    @Mapping(target = "payPeriod", ignore = true)
+    Salary toEntity(SalaryDto salaryDto);
+}
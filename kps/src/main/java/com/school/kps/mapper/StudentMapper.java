@@ -0,0 +1,17 @@
+package com.school.kps.mapper;
+
+import com.school.kps.entity.Student;
+import com.school.kps.payload.StudentDto;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring")
+public interface StudentMapper {
+
+    StudentDto toDto(Student student);
+
+    // Ids come from the table generator, never from the request
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "fees", ignore = true)
+    Student toEntity(StudentDto studentDto);
+}
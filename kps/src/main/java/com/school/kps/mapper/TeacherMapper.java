@@ -0,0 +1,15 @@
+package com.school.kps.mapper;
+
+import com.school.kps.entity.Teacher;
+import com.school.kps.payload.TeacherDto;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring")
+public interface TeacherMapper {
+
+    TeacherDto toDto(Teacher teacher);
+
+    @Mapping(target = "salaries", ignore = true)
+    Teacher toEntity(TeacherDto teacherDto);
+}
@@ -0,0 +1,20 @@
+package com.school.kps.payload;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuthStatsDto {
+    private long requests;              // bearer-token requests seen by the filter
+    private long authenticated;
+    private long tokenCacheHits;
+    private long tokenCacheMisses;
+    private double tokenCacheHitRatio;  // hits / (hits + misses), 0 before the first lookup
+    private long revokedRejections;
+    private long cachedTokens;
+    private long revokedTokens;
+    private double avgMicros;           // filter time per bearer-token request
+    private double maxMicros;
+}
@@ -0,0 +1,16 @@
+package com.school.kps.payload;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkFeeResponseDto {
+    private int total;
+    private int created;
+    private int failed;
+    private List<BulkFeeResultDto> results;
+}
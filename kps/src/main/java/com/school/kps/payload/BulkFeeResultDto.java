@@ -0,0 +1,15 @@
+package com.school.kps.payload;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkFeeResultDto {
+    private int index;          // position of the row in the request
+    private Integer feeId;
+    private String receiptNumber;
+    private boolean success;
+    private String message;
+}
@@ -0,0 +1,15 @@
+package com.school.kps.payload;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheRegionStatsDto {
+    private String region;
+    private long hits;
+    private long misses;
+    private long puts;
+    private double hitRatio;    // hits / (hits + misses), 0 before the first lookup
+}
@@ -0,0 +1,28 @@
+package com.school.kps.payload;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class CashFlowDto {
+    private String academicYear;        // e.g. 2024-2025, April through March
+    private LocalDate dateFrom;
+    private LocalDate dateTo;
+    private List<MonthlyCashFlowDto> months;    // always 12 entries, April first
+    private BigDecimal totalIncome;
+    private BigDecimal totalPayrollPaid;
+    private BigDecimal totalPayrollPending;
+    private BigDecimal net;
+
+    private Map<String, Long> timingsMs = new LinkedHashMap<>(); // section -> elapsed milliseconds
+    private long totalMs;
+}
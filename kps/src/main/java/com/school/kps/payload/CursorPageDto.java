@@ -0,0 +1,16 @@
+package com.school.kps.payload;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDto<T> {
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;  // pass back as ?cursor= for the following page; null on the last page
+}
@@ -0,0 +1,25 @@
+package com.school.kps.payload;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class DashboardDto {
+    private FeeSummaryDto feeSummary;
+    private List<MonthlyFeeDto> monthlyFees;
+    private List<ClassWiseFeeDto> classWiseFees;
+    private List<PaymentModeDto> paymentModes;
+    private Map<String, Long> studentStats;
+    private Map<String, Long> classDistribution;
+    private List<EnrollmentByMonth> enrollments;
+
+    private Map<String, Long> timingsMs = new LinkedHashMap<>(); // section -> elapsed milliseconds
+    private long totalMs;
+}
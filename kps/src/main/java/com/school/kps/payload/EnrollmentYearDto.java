@@ -0,0 +1,16 @@
+package com.school.kps.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EnrollmentYearDto {
+    private int year;
+    private long total;
+    private List<EnrollmentByMonth> months;   // always 12 entries, Jan..Dec
+}
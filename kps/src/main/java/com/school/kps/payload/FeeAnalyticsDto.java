@@ -0,0 +1,18 @@
+package com.school.kps.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeeAnalyticsDto {
+    private List<MonthlyFeeDto> monthly;
+    private List<ClassWiseFeeDto> classWise;
+    private List<PaymentModeDto> paymentModes;
+}
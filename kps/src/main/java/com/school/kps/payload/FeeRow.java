@@ -0,0 +1,12 @@
+package com.school.kps.payload;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Fee list row read straight from a JPQL constructor expression: the fee columns the API returns plus
+// only the student columns the fee screens show, instead of a full Fee and Student per row
+public record FeeRow(Integer id, String academicYear, BigDecimal totalAmount, BigDecimal amountPaid,
+                     BigDecimal dueAmount, LocalDate paymentDate, String paymentMode, String receiptNumber,
+                     String status, String remarks,
+                     Integer studentId, String firstName, String lastName, String className) {
+}
@@ -0,0 +1,21 @@
+package com.school.kps.payload;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoginStatsDto {
+    private long attempts;
+    private long succeeded;
+    private long failed;
+    private long throttledByIp;
+    private long throttledByAccount;
+    private long rejectedQueueFull;
+    private int activeVerifications;    // logins being checked on the login executor right now
+    private int queueDepth;             // logins waiting for a login executor thread
+    private int queueCapacity;
+    private double avgVerifyMs;         // authenticate() time, almost all of it the BCrypt check
+    private double maxVerifyMs;
+}
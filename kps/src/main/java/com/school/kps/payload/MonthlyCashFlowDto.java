@@ -0,0 +1,18 @@
+package com.school.kps.payload;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlyCashFlowDto {
+    private String month;               // "Apr", "May", ...
+    private int year;
+    private BigDecimal income;          // fee amounts paid in the month
+    private BigDecimal payrollPaid;     // salaries with status Paid
+    private BigDecimal payrollPending;  // salaries not yet paid (e.g. fresh payroll runs)
+    private BigDecimal net;             // income - payrollPaid
+}
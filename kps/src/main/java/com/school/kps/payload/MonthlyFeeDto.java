@@ -16,4 +16,9 @@ public class MonthlyFeeDto {
     private BigDecimal collected;
     private BigDecimal pending;
     private BigDecimal overdue;
+    private Integer year;  // added last so the month, collected, pending, overdue order still holds
+
+    public MonthlyFeeDto(String month, BigDecimal collected, BigDecimal pending, BigDecimal overdue) {
+        this(month, collected, pending, overdue, null);
+    }
 }
@@ -0,0 +1,17 @@
+package com.school.kps.payload;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PayrollLineDto {
+    private Long teacherId;
+    private String teacherName;
+    private BigDecimal amount;
+    private Integer salaryId;   // null on a dry run or when skipped
+    private String action;      // CREATED, WOULD_CREATE, ALREADY_PAID, NO_SALARY
+}
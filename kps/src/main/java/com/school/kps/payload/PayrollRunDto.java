@@ -0,0 +1,22 @@
+package com.school.kps.payload;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PayrollRunDto {
+    private String payPeriod;       // yyyy-MM
+    private boolean dryRun;
+    private int activeTeachers;
+    private int created;            // rows inserted, or that would be on a dry run
+    private int skipped;            // already paid for the period, or no salary on record
+    private BigDecimal totalAmount; // sum of the created rows
+    private long loadMs;            // reading teachers and existing period rows
+    private long insertMs;          // building and flushing the new rows; 0 on a dry run
+    private List<PayrollLineDto> lines;
+}
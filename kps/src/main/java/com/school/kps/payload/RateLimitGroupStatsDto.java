@@ -0,0 +1,18 @@
+package com.school.kps.payload;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateLimitGroupStatsDto {
+    private String group;
+    private int maxConcurrent;
+    private int inFlight;
+    private long peakInFlight;
+    private long allowed;
+    private long throttledByRate;       // 429: the client's token bucket was empty
+    private long rejectedByBulkhead;    // 429: the group already had maxConcurrent calls running
+    private long trackedClients;
+}
@@ -32,6 +32,8 @@ public class SalaryDto {
 
     private String remarks;
 
+    private String payPeriod;   // yyyy-MM when created by a payroll run
+
 
     private TeacherDto  teacher;
 
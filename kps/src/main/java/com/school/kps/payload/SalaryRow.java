@@ -0,0 +1,11 @@
+package com.school.kps.payload;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Salary list row read from a JPQL constructor expression, with just enough of the teacher to name them
+public record SalaryRow(Integer id, BigDecimal amount, LocalDate paymentDate, String paymentMode, String status,
+                        String remarks, String payPeriod,
+                        Long teacherId, String teacherName, String teacherFirstName, String teacherLastName,
+                        String teacherSubject) {
+}
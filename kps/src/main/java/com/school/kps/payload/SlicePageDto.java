@@ -0,0 +1,19 @@
+package com.school.kps.payload;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlicePageDto<T> {
+    private List<T> content;
+    private int pageNumber;
+    private int pageSize;
+    private boolean hasNext;
+    // Only with count=approx. Unfiltered fee lists read the fee aggregate rows; any other filter is an
+    // exact COUNT cached for up to a minute, so it may lag recent writes
+    private Long approximateTotal;
+}
@@ -34,7 +34,7 @@ public class StudentDto {
     @NotNull(message = "Date of birth is mandatory")
     private LocalDate dob;
 
-    @Size(min =1,max = 2, message = "Age must be 2 digit")
+    @Max(value = 99, message = "Age must be 2 digit")
     private int age;
 
     @NotBlank(message = "Address is mandatory")
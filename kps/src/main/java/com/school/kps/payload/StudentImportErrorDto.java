@@ -0,0 +1,12 @@
+package com.school.kps.payload;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentImportErrorDto {
+    private long row;           // 1-based data row, header not counted
+    private String message;
+}
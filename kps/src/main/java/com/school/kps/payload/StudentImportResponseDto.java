@@ -0,0 +1,19 @@
+package com.school.kps.payload;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentImportResponseDto {
+    private long total;
+    private long created;
+    private long failed;
+    private long elapsedMs;
+    private long rowsPerSecond;
+    private boolean errorsTruncated;    // only the first errors are listed, failed is still the full count
+    private List<StudentImportErrorDto> errors;
+}
@@ -0,0 +1,20 @@
+package com.school.kps.payload;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentProfileDto {
+    private StudentDto student;
+    private List<FeeDto> fees;                          // latest payment first
+    private BigDecimal totalDue;
+    private BigDecimal totalPaid;
+    private Map<String, BigDecimal> paidByAcademicYear; // academic year -> amount paid
+    private FeeDto latestReceipt;                       // null when nothing has been paid yet
+}
@@ -0,0 +1,9 @@
+package com.school.kps.payload;
+
+import java.time.LocalDate;
+
+// Student list row read from a JPQL constructor expression (no entity, no fees collection)
+public record StudentRow(Integer id, String firstName, String lastName, String gender, String className,
+                         LocalDate dob, int age, String address, String phone, String aadhaarNumber,
+                         String guardianName, String guardianPhone, LocalDate admissionDate) {
+}
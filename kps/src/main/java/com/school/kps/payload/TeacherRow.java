@@ -0,0 +1,11 @@
+package com.school.kps.payload;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Teacher list row read from a JPQL constructor expression (no entity, no salaries collection)
+public record TeacherRow(Long id, String firstName, String lastName, String name, String qualification,
+                         String subject, BigDecimal salary, String phone, String email, String address,
+                         String aadhaarNumber, LocalDate joinDate, LocalDate dob, String gender,
+                         String assignedClass, String status, LocalDate lastUpdated) {
+}
@@ -1,7 +1,10 @@
 package com.school.kps.repository;
 
 import com.school.kps.entity.Admin;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
@@ -9,6 +12,8 @@ import java.util.Optional;
 
 @Repository
 public interface AdminRepo extends JpaRepository<Admin, Integer> {
+    // Runs on every login and principal cache miss (AdminDetailsService), so the id lookup is query-cached
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Admin> findByEmail(String email);
 
 }
@@ -0,0 +1,32 @@
+package com.school.kps.repository;
+
+import com.school.kps.entity.EnrollmentCounter;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EnrollmentCounterRepo extends JpaRepository<EnrollmentCounter, Long> {
+
+    // Atomic insert-or-increment on (year, month); the native spaces hint keeps the second-level cache intact
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "enrollment_counters"))
+    @Query(value = "INSERT INTO enrollment_counters (year, month, students) VALUES (:year, :month, :delta) AS new " +
+            "ON DUPLICATE KEY UPDATE students = students + new.students",
+            nativeQuery = true)
+    int applyDelta(@Param("year") int year, @Param("month") int month, @Param("delta") long delta);
+
+    List<EnrollmentCounter> findByYearIn(Collection<Integer> years);
+
+    // month, students summed over every year
+    @Query("SELECT c.month, SUM(c.students) FROM EnrollmentCounter c GROUP BY c.month")
+    List<Object[]> sumByMonth();
+}
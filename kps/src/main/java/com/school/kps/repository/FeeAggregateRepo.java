@@ -0,0 +1,24 @@
+package com.school.kps.repository;
+
+import com.school.kps.entity.FeeAggregate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+
+@Repository
+public interface FeeAggregateRepo extends JpaRepository<FeeAggregate, String> {
+
+    // Atomic in-place increment, so concurrent fee writes never overwrite each other's delta
+    @Modifying
+    @Query("UPDATE FeeAggregate a SET a.feeCount = a.feeCount + :count, " +
+            "a.amountPaid = a.amountPaid + :paid, a.dueAmount = a.dueAmount + :due " +
+            "WHERE a.status = :status")
+    int applyDelta(@Param("status") String status,
+                   @Param("count") long count,
+                   @Param("paid") BigDecimal paid,
+                   @Param("due") BigDecimal due);
+}
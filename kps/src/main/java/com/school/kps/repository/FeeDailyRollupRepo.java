@@ -0,0 +1,57 @@
+package com.school.kps.repository;
+
+import com.school.kps.entity.FeeDailyRollup;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface FeeDailyRollupRepo extends JpaRepository<FeeDailyRollup, Long> {
+
+    // Atomic insert-or-increment on the rollup key, safe under concurrent fee writes. Uses the row alias
+    // (MySQL 8.0.19+) rather than the deprecated VALUES() function. The native spaces hint
+    // tells Hibernate which table it touches; without it every second-level cache region is evicted.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "fee_daily_rollups"))
+    @Query(value = "INSERT INTO fee_daily_rollups " +
+            "(day, academic_year, class_name, payment_mode, status, fee_count, amount_paid, due_amount) " +
+            "VALUES (:day, :academicYear, :className, :paymentMode, :status, :count, :paid, :due) AS new " +
+            "ON DUPLICATE KEY UPDATE fee_count = fee_count + new.fee_count, " +
+            "amount_paid = amount_paid + new.amount_paid, due_amount = due_amount + new.due_amount",
+            nativeQuery = true)
+    int applyDelta(@Param("day") LocalDate day,
+                   @Param("academicYear") String academicYear,
+                   @Param("className") String className,
+                   @Param("paymentMode") String paymentMode,
+                   @Param("status") String status,
+                   @Param("count") long count,
+                   @Param("paid") BigDecimal paid,
+                   @Param("due") BigDecimal due);
+
+    @Modifying
+    @Query("DELETE FROM FeeDailyRollup r WHERE r.day >= :from AND r.day <= :to")
+    int deleteDays(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // year, month, className, paymentMode, status, count, amountPaid, dueAmount;
+    // keys whose fees were all moved away by deltas are left at zero and skipped here
+    @Query("SELECT YEAR(r.day), MONTH(r.day), r.className, r.paymentMode, r.status, " +
+            "SUM(r.feeCount), SUM(r.amountPaid), SUM(r.dueAmount) " +
+            "FROM FeeDailyRollup r WHERE " +
+            "(:academicYear IS NULL OR r.academicYear = :academicYear) AND " +
+            "(:dateFrom IS NULL OR r.day >= :dateFrom) AND " +
+            "(:dateTo IS NULL OR r.day <= :dateTo) " +
+            "GROUP BY YEAR(r.day), MONTH(r.day), r.className, r.paymentMode, r.status " +
+            "HAVING SUM(r.feeCount) <> 0")
+    List<Object[]> sumByMonthClassModeStatus(@Param("academicYear") String academicYear,
+                                             @Param("dateFrom") LocalDate dateFrom,
+                                             @Param("dateTo") LocalDate dateTo);
+}
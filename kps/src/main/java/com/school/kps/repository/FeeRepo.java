@@ -2,40 +2,85 @@ package com.school.kps.repository;
 
 import com.school.kps.entity.Fee;
 import com.school.kps.entity.Student;
-import com.school.kps.payload.FeeDto;
+import com.school.kps.payload.FeeRow;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface FeeRepo extends JpaRepository<Fee, Integer>, JpaSpecificationExecutor<Fee> {
-    List<Fee> findByStudent(Student student);
 
-    List<Fee> findByStatus(String status);
+    // Optional filters shared by the analytics queries; a null parameter disables its condition
+    String ANALYTICS_FILTERS = "(:academicYear IS NULL OR f.academicYear = :academicYear) AND " +
+            "(:dateFrom IS NULL OR f.paymentDate >= :dateFrom) AND " +
+            "(:dateTo IS NULL OR f.paymentDate <= :dateTo)";
 
+    // Flat list rows (see FeeRow); every list query below appends its WHERE to this
+    String FEE_ROWS = "SELECT new com.school.kps.payload.FeeRow(f.id, f.academicYear, f.totalAmount, " +
+            "f.amountPaid, f.dueAmount, f.paymentDate, f.paymentMode, f.receiptNumber, f.status, f.remarks, " +
+            "s.id, s.firstName, s.lastName, s.className) FROM Fee f LEFT JOIN f.student s ";
 
-    @Query("SELECT f FROM Fee f WHERE  f.student.className = :className")
-    List<Fee> findByStudentClassName(String className);
+    @Query(FEE_ROWS + "WHERE s.id = :studentId ORDER BY f.id")
+    List<FeeRow> findRowsByStudentId(@Param("studentId") Integer studentId);
+
+    @Query(FEE_ROWS + "WHERE f.status = :status ORDER BY f.id")
+    List<FeeRow> findRowsByStatus(@Param("status") String status);
+
+    @Query(FEE_ROWS + "WHERE s.className = :className ORDER BY f.id")
+    List<FeeRow> findRowsByStudentClassName(@Param("className") String className);
 
     // Find fees by student name (first name or last name)
-    @Query("SELECT f FROM Fee f WHERE LOWER(f.student.firstName) LIKE LOWER(CONCAT('%', :name, '%')) " +
-            "OR LOWER(f.student.lastName) LIKE LOWER(CONCAT('%', :name, '%'))")
-    List<Fee> findByStudentName(String name);
+    @Query(FEE_ROWS + "WHERE LOWER(s.firstName) LIKE LOWER(CONCAT('%', :name, '%')) " +
+            "OR LOWER(s.lastName) LIKE LOWER(CONCAT('%', :name, '%')) ORDER BY f.id")
+    List<FeeRow> findRowsByStudentName(@Param("name") String name);
 
-    List<Fee> findByAcademicYear(String academicYear);
+    @Query(FEE_ROWS + "WHERE s.id IN :studentIds ORDER BY f.id")
+    List<FeeRow> findRowsByStudentIdIn(@Param("studentIds") Collection<Integer> studentIds);
 
-    List<Fee> findByStudentAndAcademicYear(Student student, String academicYear);
+    // id, receiptNumber (search index rebuild)
+    @Query("SELECT f.id, f.receiptNumber FROM Fee f")
+    List<Object[]> findReceiptNumbers();
 
-    @Query("SELECT f FROM Fee f WHERE " +
-            "(:className IS NULL OR f.student.className = :className) AND " +
-            "(:status IS NULL OR f.status = :status)")
-    List<Fee> findFeesByFilters(@Param("className") String className,
+    @Query(FEE_ROWS + "WHERE f.academicYear = :academicYear ORDER BY f.id")
+    List<FeeRow> findRowsByAcademicYear(@Param("academicYear") String academicYear);
+
+    List<Fee> findByStudentAndAcademicYear(Student student, String academicYear);
 
-                                @Param("status") String status);
+    @Query(FEE_ROWS + "WHERE (:className IS NULL OR s.className = :className) AND " +
+            "(:status IS NULL OR f.status = :status) ORDER BY f.id")
+    List<FeeRow> findRowsByFilters(@Param("className") String className,
+                                   @Param("status") String status);
 
     List<Fee> findByPaymentMode(String paymentMode);
+
+    @Query("SELECT f.status, COUNT(f), SUM(f.amountPaid), SUM(f.dueAmount) FROM Fee f GROUP BY f.status")
+    List<Object[]> sumAmountsByStatus();
+
+    // day, academicYear, className, paymentMode, status, count, amountPaid, dueAmount; a null from means no lower bound
+    @Query("SELECT f.paymentDate, f.academicYear, s.className, f.paymentMode, f.status, " +
+            "COUNT(f), SUM(f.amountPaid), SUM(f.dueAmount) " +
+            "FROM Fee f JOIN f.student s WHERE f.paymentDate IS NOT NULL AND " +
+            "(:from IS NULL OR f.paymentDate >= :from) AND f.paymentDate <= :to " +
+            "GROUP BY f.paymentDate, f.academicYear, s.className, f.paymentMode, f.status")
+    List<Object[]> sumByDayClassModeStatus(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // Same shape as FeeDailyRollupRepo.sumByMonthClassModeStatus, restricted to the days not rolled up yet
+    // (after closedThrough, plus undated fees); a null closedThrough means nothing is rolled up
+    @Query("SELECT YEAR(f.paymentDate), MONTH(f.paymentDate), s.className, f.paymentMode, f.status, " +
+            "COUNT(f), SUM(f.amountPaid), SUM(f.dueAmount) " +
+            "FROM Fee f JOIN f.student s WHERE " +
+            "(:closedThrough IS NULL OR f.paymentDate IS NULL OR f.paymentDate > :closedThrough) AND " +
+            ANALYTICS_FILTERS + " " +
+            "GROUP BY YEAR(f.paymentDate), MONTH(f.paymentDate), s.className, f.paymentMode, f.status")
+    List<Object[]> sumOpenByMonthClassModeStatus(@Param("academicYear") String academicYear,
+                                                 @Param("dateFrom") LocalDate dateFrom,
+                                                 @Param("dateTo") LocalDate dateTo,
+                                                 @Param("closedThrough") LocalDate closedThrough);
+
 }
@@ -0,0 +1,25 @@
+package com.school.kps.repository;
+
+import com.school.kps.entity.FeeRollupState;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface FeeRollupStateRepo extends JpaRepository<FeeRollupState, Integer> {
+
+    // Taken by the roll-up job while it moves closedThrough forward
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM FeeRollupState s WHERE s.id = :id")
+    Optional<FeeRollupState> lockForUpdate(@Param("id") Integer id);
+
+    // Taken by fee writes, so they never see closedThrough move while applying a delta
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT s FROM FeeRollupState s WHERE s.id = :id")
+    Optional<FeeRollupState> lockForShare(@Param("id") Integer id);
+}
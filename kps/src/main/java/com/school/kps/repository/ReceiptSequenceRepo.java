@@ -0,0 +1,32 @@
+package com.school.kps.repository;
+
+import com.school.kps.entity.ReceiptSequence;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ReceiptSequenceRepo extends JpaRepository<ReceiptSequence, Integer> {
+
+    // Serialises block reservations across instances
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ReceiptSequence s WHERE s.id = :id")
+    Optional<ReceiptSequence> lockForUpdate(@Param("id") Integer id);
+
+    // Creates the counter row on first use; safe when several instances start against an empty table,
+    // the losers of the insert race wait for the winner's commit and change nothing
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "receipt_sequence"))
+    @Query(value = "INSERT INTO receipt_sequence (id, next_value) VALUES (:id, 1) " +
+            "ON DUPLICATE KEY UPDATE id = id", nativeQuery = true)
+    void createIfMissing(@Param("id") Integer id);
+}
@@ -1,18 +1,57 @@
 package com.school.kps.repository;
 
 import com.school.kps.entity.Salary;
+import com.school.kps.payload.SalaryRow;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
-import org.springframework.web.bind.annotation.RequestBody;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 
 @Repository
 public interface SalaryRepo extends JpaRepository<Salary,Integer> {
+    // Flat list rows (see SalaryRow); every list query below appends its WHERE to this
+    String SALARY_ROWS = "SELECT new com.school.kps.payload.SalaryRow(s.id, s.amount, s.paymentDate, s.paymentMode, " +
+            "s.status, s.remarks, s.payPeriod, t.id, t.name, t.firstName, t.lastName, t.subject) FROM Salary s LEFT JOIN s.teacher t ";
+
+    @Query(SALARY_ROWS + "ORDER BY s.id")
+    List<SalaryRow> findAllRows();
+
     // Optional: Find salary by teacher name
-    @Query("SELECT s FROM Salary s WHERE LOWER(s.teacher.name) LIKE LOWER(CONCAT('%', :name, '%'))")
-    List<Salary> findByTeacherName(String name);
+    @Query(SALARY_ROWS + "WHERE LOWER(t.name) LIKE LOWER(CONCAT('%', :name, '%')) ORDER BY s.id")
+    List<SalaryRow> findRowsByTeacherName(@Param("name") String name);
+
+    @Query(SALARY_ROWS + "WHERE s.status = :status ORDER BY s.id")
+    List<SalaryRow> findRowsByStatus(@Param("status") String status);
+
+    String SALARY_FILTERS = "WHERE (:status IS NULL OR s.status = :status) " +
+            "AND (:dateFrom IS NULL OR s.paymentDate >= :dateFrom) " +
+            "AND (:dateTo IS NULL OR s.paymentDate <= :dateTo)";
+
+    // Paged list; the teacher columns come from the same select, and the count skips the join
+    @Query(value = SALARY_ROWS + SALARY_FILTERS,
+            countQuery = "SELECT COUNT(s) FROM Salary s " + SALARY_FILTERS)
+    Page<SalaryRow> findRowsByFilters(@Param("status") String status,
+                                      @Param("dateFrom") LocalDate dateFrom,
+                                      @Param("dateTo") LocalDate dateTo,
+                                      Pageable pageable);
+
+    // Salary history, newest first (idx_salary_teacher_payment_date)
+    @Query(SALARY_ROWS + "WHERE s.teacher.id = :teacherId ORDER BY s.paymentDate DESC, s.id DESC")
+    List<SalaryRow> findRowsByTeacherId(@Param("teacherId") Long teacherId);
+
+    // year, month, status, amount (cash-flow report)
+    @Query("SELECT YEAR(s.paymentDate), MONTH(s.paymentDate), s.status, SUM(s.amount) FROM Salary s " +
+            "WHERE s.paymentDate >= :dateFrom AND s.paymentDate <= :dateTo " +
+            "GROUP BY YEAR(s.paymentDate), MONTH(s.paymentDate), s.status")
+    List<Object[]> sumByMonthAndStatus(@Param("dateFrom") LocalDate dateFrom, @Param("dateTo") LocalDate dateTo);
 
-    List<Salary> findByStatus(String status);
+    // Teachers already paid by a payroll run for this period
+    @Query("SELECT s.teacher.id FROM Salary s WHERE s.payPeriod = :payPeriod")
+    Set<Long> findTeacherIdsByPayPeriod(@Param("payPeriod") String payPeriod);
 }
@@ -1,40 +1,61 @@
 package com.school.kps.repository;
 
 import com.school.kps.entity.Student;
+import com.school.kps.payload.StudentRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface StudentRepo  extends JpaRepository<Student,Integer>, JpaSpecificationExecutor<Student> {
     List<Student> findByFirstNameIgnoreCase(String firstName);
     List<Student> findByClassNameContainingIgnoreCase(String className);
-    List<Student> findByFirstNameContainingIgnoreCase(String firstName);
-    List<Student> findByFirstNameContainingIgnoreCaseAndClassNameContainingIgnoreCase(String firstName, String className);
-    // Total number of students
-    @Query("SELECT COUNT(s) FROM Student s")
-    long countTotalStudents();
 
-    // Count male students
-    @Query("SELECT COUNT(s) FROM Student s WHERE LOWER(s.gender) = 'male'")
-    long countMaleStudents();
-
-    // Count female students
-    @Query("SELECT COUNT(s) FROM Student s WHERE LOWER(s.gender) = 'female'")
-    long countFemaleStudents();
+    // Student and the fees collection in one LEFT JOIN select (profile page)
+    @EntityGraph(attributePaths = "fees")
+    Optional<Student> findWithFeesById(Integer id);
 
+    // Flat list rows (see StudentRow); query-cached until the students table changes
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT new com.school.kps.payload.StudentRow(s.id, s.firstName, s.lastName, s.gender, s.className, " +
+            "s.dob, s.age, s.address, s.phone, s.aadhaarNumber, s.guardianName, s.guardianPhone, s.admissionDate) " +
+            "FROM Student s WHERE LOWER(s.className) LIKE LOWER(CONCAT('%', :className, '%')) ORDER BY s.id")
+    List<StudentRow> findRowsByClassNameContaining(@Param("className") String className);
+    List<Student> findByFirstNameContainingIgnoreCase(String firstName);
+    List<Student> findByFirstNameContainingIgnoreCaseAndClassNameContainingIgnoreCase(String firstName, String className);
+    // One row: total, male, female (gender compared case-insensitively in a single scan)
+    @Query("SELECT COUNT(s), " +
+            "SUM(CASE WHEN LOWER(s.gender) = 'male' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN LOWER(s.gender) = 'female' THEN 1 ELSE 0 END) " +
+            "FROM Student s")
+    List<Object[]> countByGender();
+
+    // className, count
+    @Query("SELECT s.className, COUNT(s) FROM Student s GROUP BY s.className")
+    List<Object[]> countGroupedByClassName();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT COUNT(s) FROM Student s WHERE LOWER(s.className) = LOWER(:className)")
     long countStudentsByClassName(String className);
 
-    @Query(value = "SELECT MONTH(admission_date) AS month, COUNT(*) AS cnt " +
-            "FROM students " +
-            "WHERE (:year IS NULL OR YEAR(admission_date) = :year) " +
-            "GROUP BY MONTH(admission_date)", nativeQuery = true)
-    List<Object[]> countStudentsGroupedByMonth(@Param("year") Integer year);
+    // year, month, count (enrollment counter rebuild only; the endpoint reads enrollment_counters)
+    @Query("SELECT YEAR(s.admissionDate), MONTH(s.admissionDate), COUNT(s) FROM Student s " +
+            "WHERE s.admissionDate IS NOT NULL GROUP BY YEAR(s.admissionDate), MONTH(s.admissionDate)")
+    List<Object[]> countGroupedByAdmissionMonth();
+
+    // id, firstName, lastName, guardianName, guardianPhone (search index rebuild)
+    @Query("SELECT s.id, s.firstName, s.lastName, s.guardianName, s.guardianPhone FROM Student s")
+    List<Object[]> findSearchFields();
+
 
 }
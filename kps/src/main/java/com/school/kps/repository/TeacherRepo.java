@@ -1,7 +1,12 @@
 package com.school.kps.repository;
 
 import com.school.kps.entity.Teacher;
+import com.school.kps.payload.TeacherRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,4 +14,15 @@ import java.util.List;
 @Repository
 public interface TeacherRepo extends JpaRepository<Teacher, Integer> {
     List<Teacher> findByNameContainingIgnoreCase(String name);
+
+    // Flat list rows (see TeacherRow); query-cached until the teachers table changes
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT new com.school.kps.payload.TeacherRow(t.id, t.firstName, t.lastName, t.name, t.qualification, " +
+            "t.subject, t.salary, t.phone, t.email, t.address, t.aadhaarNumber, t.joinDate, t.dob, t.gender, " +
+            "t.assignedClass, t.status, t.lastUpdated) FROM Teacher t ORDER BY t.id")
+    List<TeacherRow> findAllRows();
+
+    // id, name, salary of every active teacher (payroll run)
+    @Query("SELECT t.id, t.name, t.salary FROM Teacher t WHERE LOWER(t.status) = 'active' ORDER BY t.id")
+    List<Object[]> findActivePayroll();
 }
@@ -0,0 +1,8 @@
+package com.school.kps.service;
+
+import com.school.kps.payload.AuthStatsDto;
+
+// JWT filter counters and verified-token cache sizes since startup
+public interface AuthStatsServices {
+    AuthStatsDto getAuthStats();
+}
@@ -0,0 +1,11 @@
+package com.school.kps.service;
+
+import com.school.kps.payload.CacheRegionStatsDto;
+
+import java.util.List;
+
+// Hibernate second-level / query cache counters since startup, one entry per region
+public interface CacheStatsServices {
+
+    List<CacheRegionStatsDto> getRegionStats();
+}
@@ -0,0 +1,8 @@
+package com.school.kps.service;
+
+import com.school.kps.payload.DashboardDto;
+
+public interface DashboardServices {
+
+    DashboardDto getDashboard(String academicYear, Integer enrollmentYear);
+}
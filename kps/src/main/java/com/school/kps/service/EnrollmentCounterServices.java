@@ -0,0 +1,24 @@
+package com.school.kps.service;
+
+import com.school.kps.entity.Student;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface EnrollmentCounterServices {
+
+    void studentAdmitted(LocalDate admissionDate);
+
+    void studentsAdmitted(Collection<Student> students);
+
+    void studentWithdrawn(LocalDate admissionDate);
+
+    // year -> students per month, index 0 = January; null year sums every year
+    long[] getMonthlyCounts(Integer year);
+
+    Map<Integer, long[]> getMonthlyCounts(List<Integer> years);
+
+    long rebuild();
+}
@@ -0,0 +1,21 @@
+package com.school.kps.service;
+
+import com.school.kps.entity.Fee;
+import com.school.kps.payload.FeeSummaryDto;
+
+import java.util.List;
+
+public interface FeeAggregateServices {
+
+    void feeAdded(Fee fee);
+
+    void feesAdded(List<Fee> fees);
+
+    void feeRemoved(Fee fee);
+
+    FeeSummaryDto getSummary();
+
+    long countFees(String status);
+
+    FeeSummaryDto rebuild();
+}
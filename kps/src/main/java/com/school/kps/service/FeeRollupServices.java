@@ -0,0 +1,22 @@
+package com.school.kps.service;
+
+import com.school.kps.entity.Fee;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface FeeRollupServices {
+
+    void feeAdded(Fee fee);
+
+    void feesAdded(List<Fee> fees);
+
+    void feeRemoved(Fee fee);
+
+    void rollUpClosedDays();
+
+    LocalDate rebuild();
+
+    // year, month, className, paymentMode, status, count, amountPaid, dueAmount
+    List<Object[]> sumByMonthClassModeStatus(String academicYear, LocalDate dateFrom, LocalDate dateTo);
+}
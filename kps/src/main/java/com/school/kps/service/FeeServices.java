@@ -4,12 +4,17 @@ import com.school.kps.entity.Fee;
 import com.school.kps.payload.*;
 import org.springframework.data.domain.Page;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
 import java.util.List;
 
 public interface FeeServices {
 
     FeeDto addFee(FeeDto feeDto, Integer studentId);
 
+    BulkFeeResponseDto addFees(List<FeeDto> feeDtos);
+
     FeeDto updateFee(FeeDto feeDto, Integer id);
 
     FeeDto deleteFee(Integer id);
@@ -18,6 +23,18 @@ public interface FeeServices {
                             String className, String paymentStatus, String paymentMode,
                             String dateFrom, String dateTo, String search);
 
+    SlicePageDto<FeeDto> getFeesSlice(int pageNumber, int pageSize, String sortBy, String sortDir,
+                                      String className, String paymentStatus, String paymentMode,
+                                      String dateFrom, String dateTo, String search, boolean approximateCount);
+
+    CursorPageDto<FeeDto> getFeesAfter(String cursor, int pageSize, String sortBy, String sortDir,
+                                       String className, String paymentStatus, String paymentMode,
+                                       String dateFrom, String dateTo, String search);
+
+    void exportFees(OutputStream out, String format,
+                    String className, String paymentStatus, String paymentMode,
+                    LocalDate dateFrom, LocalDate dateTo, String search) throws IOException;
+
     FeeDto getFeeById(Integer id);
 
     List<FeeDto> getFeesByStudentId(Integer id);
@@ -34,10 +51,12 @@ public interface FeeServices {
 
     FeeSummaryDto getFeeSummary();
 
-    List<MonthlyFeeDto> getMonthlyFeeTrend();
+    List<MonthlyFeeDto> getMonthlyFeeTrend(String academicYear, LocalDate dateFrom, LocalDate dateTo);
+
+    List<PaymentModeDto> getPaymentModeDistribution(String academicYear, LocalDate dateFrom, LocalDate dateTo);
 
-    List<PaymentModeDto> getPaymentModeDistribution();
+    List<ClassWiseFeeDto> getClassWiseCollection(String academicYear, LocalDate dateFrom, LocalDate dateTo);
 
-    List<ClassWiseFeeDto> getClassWiseCollection();
+    FeeAnalyticsDto getFeeAnalytics(String academicYear, LocalDate dateFrom, LocalDate dateTo);
 
 }
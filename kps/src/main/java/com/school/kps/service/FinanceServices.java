@@ -0,0 +1,9 @@
+package com.school.kps.service;
+
+import com.school.kps.payload.CashFlowDto;
+
+public interface FinanceServices {
+
+    // academicYear like 2024-2025 (April 2024 to March 2025); null means the current academic year
+    CashFlowDto getCashFlow(String academicYear);
+}
@@ -1,11 +1,11 @@
 package com.school.kps.service.Impl;
 
 import com.school.kps.entity.Admin;
+import com.school.kps.mapper.AdminMapper;
 import com.school.kps.payload.AdminDto;
 import com.school.kps.payload.SalaryDto;
 import com.school.kps.repository.AdminRepo;
 import com.school.kps.service.AdminServices;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -18,14 +18,14 @@ public class AdminServicesImpl implements AdminServices {
     private AdminRepo adminRepo;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private AdminMapper adminMapper;
 
     @Override
     public List<AdminDto> getAdmin() {
         List<Admin> admins = new ArrayList<>();
         this.adminRepo.findAll().forEach(admins::add); // Convert Iterable to List
         return admins.stream()
-                .map(admin -> this.modelMapper.map(admin, AdminDto.class))
+                .map(admin -> this.adminMapper.toDto(admin))
                 .collect(Collectors.toList());
     }
 
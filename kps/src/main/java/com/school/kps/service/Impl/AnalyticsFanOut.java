@@ -0,0 +1,43 @@
+package com.school.kps.service.Impl;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+// Runs the independent sections of an analytics response in parallel on the bounded analytics
+// executor, recording how long each one took
+@Component
+public class AnalyticsFanOut {
+
+    @Autowired
+    @Qualifier("analyticsExecutor")
+    private Executor analyticsExecutor;
+
+    // A full analytics queue throws TaskRejectedException from here; GlobalExceptionHandler turns it into 503
+    public <T> CompletableFuture<T> timed(String section, Map<String, Long> timings, Supplier<T> supplier) {
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            try {
+                return supplier.get();
+            } finally {
+                timings.put(section, (System.nanoTime() - start) / 1_000_000);
+            }
+        }, this.analyticsExecutor);
+    }
+
+    // Rethrows what the section threw, so exceptions mapped in GlobalExceptionHandler keep their status
+    public void awaitAll(CompletableFuture<?>... sections) {
+        try {
+            CompletableFuture.allOf(sections).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+}
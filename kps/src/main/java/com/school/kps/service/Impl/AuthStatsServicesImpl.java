@@ -0,0 +1,39 @@
+package com.school.kps.service.Impl;
+
+import com.school.kps.config.AuthFilterMetrics;
+import com.school.kps.config.VerifiedTokenCache;
+import com.school.kps.payload.AuthStatsDto;
+import com.school.kps.service.AuthStatsServices;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+@Service
+public class AuthStatsServicesImpl implements AuthStatsServices {
+
+    @Autowired
+    private AuthFilterMetrics metrics;
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Override
+    public AuthStatsDto getAuthStats() {
+        long requests = this.metrics.getRequests();
+        long hits = this.metrics.getTokenCacheHits();
+        long misses = this.metrics.getTokenCacheMisses();
+        double hitRatio = hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+        double avgMicros = requests == 0 ? 0 : this.metrics.getTotalNanos() / 1000.0 / requests;
+        return new AuthStatsDto(
+                requests,
+                this.metrics.getAuthenticated(),
+                hits,
+                misses,
+                hitRatio,
+                this.metrics.getRevokedRejections(),
+                this.verifiedTokenCache.verifiedSize(),
+                this.verifiedTokenCache.revokedSize(),
+                avgMicros,
+                this.metrics.getMaxNanos() / 1000.0
+        );
+    }
+}
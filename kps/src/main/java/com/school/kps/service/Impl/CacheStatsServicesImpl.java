@@ -0,0 +1,44 @@
+package com.school.kps.service.Impl;
+
+import com.school.kps.payload.CacheRegionStatsDto;
+import com.school.kps.service.CacheStatsServices;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+@Service
+public class CacheStatsServicesImpl implements CacheStatsServices {
+
+    // Region Hibernate uses for cacheable query results when a query names no region of its own
+    private static final String QUERY_RESULTS_REGION = "default-query-results-region";
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public List<CacheRegionStatsDto> getRegionStats() {
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Set<String> regions = new TreeSet<>(List.of(statistics.getSecondLevelCacheRegionNames()));
+        regions.add(QUERY_RESULTS_REGION);
+
+        List<CacheRegionStatsDto> stats = new ArrayList<>(regions.size());
+        for (String region : regions) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics == null) continue;
+            long hits = regionStatistics.getHitCount();
+            long misses = regionStatistics.getMissCount();
+            double hitRatio = hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+            stats.add(new CacheRegionStatsDto(region, hits, misses, regionStatistics.getPutCount(), hitRatio));
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,64 @@
+package com.school.kps.service.Impl;
+
+import com.school.kps.payload.DashboardDto;
+import com.school.kps.payload.EnrollmentByMonth;
+import com.school.kps.payload.FeeAnalyticsDto;
+import com.school.kps.payload.FeeSummaryDto;
+import com.school.kps.service.DashboardServices;
+import com.school.kps.service.FeeServices;
+import com.school.kps.service.StudentServices;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+@Service
+public class DashboardServicesImpl implements DashboardServices {
+
+    @Autowired
+    private FeeServices feeServices;
+
+    @Autowired
+    private StudentServices studentServices;
+
+    @Autowired
+    private AnalyticsFanOut analyticsFanOut;
+
+    @Override
+    public DashboardDto getDashboard(String academicYear, Integer enrollmentYear) {
+        long start = System.nanoTime();
+        Map<String, Long> timings = Collections.synchronizedMap(new LinkedHashMap<>());
+
+        CompletableFuture<FeeSummaryDto> summary =
+                this.analyticsFanOut.timed("feeSummary", timings, () -> this.feeServices.getFeeSummary());
+        // monthly, class-wise and payment-mode charts share one grouped fee scan
+        CompletableFuture<FeeAnalyticsDto> feeAnalytics =
+                this.analyticsFanOut.timed("feeAnalytics", timings, () -> this.feeServices.getFeeAnalytics(academicYear, null, null));
+        // both are cached until the next student write, so repeat loads skip the database
+        CompletableFuture<Map<String, Long>> studentStats =
+                this.analyticsFanOut.timed("studentStats", timings, () -> this.studentServices.getStudentStats());
+        CompletableFuture<Map<String, Long>> classDistribution =
+                this.analyticsFanOut.timed("classDistribution", timings, () -> this.studentServices.getClassWiseStudentCount());
+        CompletableFuture<List<EnrollmentByMonth>> enrollments =
+                this.analyticsFanOut.timed("enrollments", timings, () -> this.studentServices.getEnrollmentByMonth(enrollmentYear));
+
+        this.analyticsFanOut.awaitAll(summary, feeAnalytics, studentStats, classDistribution, enrollments);
+
+        DashboardDto dashboard = new DashboardDto();
+        dashboard.setFeeSummary(summary.join());
+        dashboard.setMonthlyFees(feeAnalytics.join().getMonthly());
+        dashboard.setClassWiseFees(feeAnalytics.join().getClassWise());
+        dashboard.setPaymentModes(feeAnalytics.join().getPaymentModes());
+        dashboard.setEnrollments(enrollments.join());
+        dashboard.setStudentStats(studentStats.join());
+        dashboard.setClassDistribution(classDistribution.join());
+
+        // Report the sections in a stable order regardless of which finished first
+        for (String section : List.of("feeSummary", "feeAnalytics", "studentStats", "classDistribution", "enrollments")) {
+            dashboard.getTimingsMs().put(section, timings.get(section));
+        }
+        dashboard.setTotalMs((System.nanoTime() - start) / 1_000_000);
+        return dashboard;
+    }
+}
@@ -0,0 +1,107 @@
+package com.school.kps.service.Impl;
+
+import com.school.kps.entity.EnrollmentCounter;
+import com.school.kps.entity.Student;
+import com.school.kps.repository.EnrollmentCounterRepo;
+import com.school.kps.repository.StudentRepo;
+import com.school.kps.service.EnrollmentCounterServices;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+
+@Service
+public class EnrollmentCounterServicesImpl implements EnrollmentCounterServices {
+
+    @Autowired
+    private EnrollmentCounterRepo enrollmentCounterRepo;
+
+    @Autowired
+    private StudentRepo studentRepo;
+
+    // Must join the caller's transaction so the counter commits or rolls back together with the student row
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void studentAdmitted(LocalDate admissionDate) {
+        applyDelta(admissionDate, 1);
+    }
+
+    // Imports: one upsert per admission month instead of one per student
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void studentsAdmitted(Collection<Student> students) {
+        Map<YearMonth, Long> deltas = new TreeMap<>();
+        for (Student student : students) {
+            if (student.getAdmissionDate() == null) continue;
+            deltas.merge(YearMonth.from(student.getAdmissionDate()), 1L, Long::sum);
+        }
+        deltas.forEach((month, delta) ->
+                this.enrollmentCounterRepo.applyDelta(month.getYear(), month.getMonthValue(), delta));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void studentWithdrawn(LocalDate admissionDate) {
+        applyDelta(admissionDate, -1);
+    }
+
+    private void applyDelta(LocalDate admissionDate, long delta) {
+        if (admissionDate == null) return;
+        this.enrollmentCounterRepo.applyDelta(admissionDate.getYear(), admissionDate.getMonthValue(), delta);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long[] getMonthlyCounts(Integer year) {
+        if (year != null) {
+            return getMonthlyCounts(List.of(year)).get(year);
+        }
+        long[] counts = new long[12];
+        for (Object[] row : this.enrollmentCounterRepo.sumByMonth()) {
+            counts[((Number) row[0]).intValue() - 1] = ((Number) row[1]).longValue();
+        }
+        return counts;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Integer, long[]> getMonthlyCounts(List<Integer> years) {
+        Map<Integer, long[]> counts = new LinkedHashMap<>();
+        for (Integer year : years) counts.put(year, new long[12]);
+        for (EnrollmentCounter counter : this.enrollmentCounterRepo.findByYearIn(counts.keySet())) {
+            counts.get(counter.getYear())[counter.getMonth() - 1] = counter.getStudents();
+        }
+        return counts;
+    }
+
+    @Override
+    @Transactional
+    public long rebuild() {
+        // Delete first: the row locks make concurrent admissions wait for the fresh counts
+        this.enrollmentCounterRepo.deleteAllInBatch();
+
+        List<EnrollmentCounter> counters = new ArrayList<>();
+        long students = 0;
+        for (Object[] row : this.studentRepo.countGroupedByAdmissionMonth()) {
+            long count = ((Number) row[2]).longValue();
+            counters.add(new EnrollmentCounter(((Number) row[0]).intValue(), ((Number) row[1]).intValue(), count));
+            students += count;
+        }
+        this.enrollmentCounterRepo.saveAll(counters);
+        return students;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initialize() {
+        if (this.enrollmentCounterRepo.count() == 0) {
+            rebuild();
+        }
+    }
+}
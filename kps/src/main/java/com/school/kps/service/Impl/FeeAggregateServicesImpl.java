@@ -0,0 +1,155 @@
+package com.school.kps.service.Impl;
+
+import com.school.kps.entity.Fee;
+import com.school.kps.entity.FeeAggregate;
+import com.school.kps.payload.FeeSummaryDto;
+import com.school.kps.repository.FeeAggregateRepo;
+import com.school.kps.repository.FeeRepo;
+import com.school.kps.service.FeeAggregateServices;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class FeeAggregateServicesImpl implements FeeAggregateServices {
+
+    private static final List<String> STATUSES = List.of("Paid", "Pending", "Partially Paid");
+
+    @Autowired
+    private FeeAggregateRepo feeAggregateRepo;
+
+    @Autowired
+    private FeeRepo feeRepo;
+
+    // Must join the caller's transaction so the totals commit or roll back together with the fee row
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void feeAdded(Fee fee) {
+        applyDelta(fee.getStatus(), 1, fee.getAmountPaid(), fee.getDueAmount());
+    }
+
+    // Bulk inserts: one UPDATE per status instead of one per fee
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void feesAdded(List<Fee> fees) {
+        Map<String, FeeAggregate> deltas = new HashMap<>();
+        for (Fee fee : fees) {
+            if (fee.getStatus() == null) continue;
+            FeeAggregate delta = deltas.computeIfAbsent(fee.getStatus(),
+                    status -> new FeeAggregate(status, 0, BigDecimal.ZERO, BigDecimal.ZERO));
+            delta.setFeeCount(delta.getFeeCount() + 1);
+            if (fee.getAmountPaid() != null) delta.setAmountPaid(delta.getAmountPaid().add(fee.getAmountPaid()));
+            if (fee.getDueAmount() != null) delta.setDueAmount(delta.getDueAmount().add(fee.getDueAmount()));
+        }
+        for (FeeAggregate delta : deltas.values()) {
+            applyDelta(delta.getStatus(), delta.getFeeCount(), delta.getAmountPaid(), delta.getDueAmount());
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void feeRemoved(Fee fee) {
+        applyDelta(fee.getStatus(), -1, negate(fee.getAmountPaid()), negate(fee.getDueAmount()));
+    }
+
+    private void applyDelta(String status, long count, BigDecimal paid, BigDecimal due) {
+        if (status == null) return;
+        paid = paid != null ? paid : BigDecimal.ZERO;
+        due = due != null ? due : BigDecimal.ZERO;
+
+        int updated = this.feeAggregateRepo.applyDelta(status, count, paid, due);
+        if (updated == 0) {
+            // First fee ever seen with this status
+            this.feeAggregateRepo.save(new FeeAggregate(status, count, paid, due));
+        }
+    }
+
+    private BigDecimal negate(BigDecimal value) {
+        return value != null ? value.negate() : BigDecimal.ZERO;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public FeeSummaryDto getSummary() {
+        return toSummary(this.feeAggregateRepo.findAll());
+    }
+
+    // Read from the aggregate rows instead of counting fees: all statuses when status is null.
+    // Fees without a status are not tracked here, so this is an estimate of the table size.
+    @Override
+    @Transactional(readOnly = true)
+    public long countFees(String status) {
+        if (status == null) {
+            return this.feeAggregateRepo.findAll().stream().mapToLong(FeeAggregate::getFeeCount).sum();
+        }
+        return this.feeAggregateRepo.findById(status).map(FeeAggregate::getFeeCount).orElse(0L);
+    }
+
+    @Override
+    @Transactional
+    public FeeSummaryDto rebuild() {
+        // Delete first: the row locks make concurrent fee writes wait for the fresh totals
+        this.feeAggregateRepo.deleteAllInBatch();
+
+        List<FeeAggregate> aggregates = new ArrayList<>();
+        for (Object[] row : this.feeRepo.sumAmountsByStatus()) {
+            String status = (String) row[0];
+            if (status == null) continue;
+            aggregates.add(new FeeAggregate(status,
+                    ((Number) row[1]).longValue(),
+                    row[2] != null ? (BigDecimal) row[2] : BigDecimal.ZERO,
+                    row[3] != null ? (BigDecimal) row[3] : BigDecimal.ZERO));
+        }
+        // Seed the standard statuses so the increment path never has to insert them
+        for (String status : STATUSES) {
+            if (aggregates.stream().noneMatch(a -> a.getStatus().equals(status))) {
+                aggregates.add(new FeeAggregate(status, 0, BigDecimal.ZERO, BigDecimal.ZERO));
+            }
+        }
+        return toSummary(this.feeAggregateRepo.saveAll(aggregates));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initialize() {
+        if (this.feeAggregateRepo.count() == 0) {
+            rebuild();
+        }
+    }
+
+    private FeeSummaryDto toSummary(List<FeeAggregate> aggregates) {
+        BigDecimal totalCollected = BigDecimal.ZERO;
+        BigDecimal totalPending = BigDecimal.ZERO;
+        BigDecimal totalOverdue = BigDecimal.ZERO;
+        long totalTransactions = 0;
+
+        for (FeeAggregate a : aggregates) {
+            totalTransactions += a.getFeeCount();
+            if ("Paid".equalsIgnoreCase(a.getStatus())) {
+                totalCollected = totalCollected.add(a.getAmountPaid());
+            } else if ("Pending".equalsIgnoreCase(a.getStatus())) {
+                totalPending = totalPending.add(a.getDueAmount());
+            } else if ("Partially Paid".equalsIgnoreCase(a.getStatus())) {
+                totalOverdue = totalOverdue.add(a.getDueAmount());
+            }
+        }
+
+        BigDecimal total = totalCollected.add(totalPending).add(totalOverdue);
+        int collectionRate = total.compareTo(BigDecimal.ZERO) > 0 ?
+                totalCollected.multiply(BigDecimal.valueOf(100))
+                        .divide(total, RoundingMode.HALF_UP)
+                        .intValue() : 0;
+
+        return new FeeSummaryDto(totalCollected, totalPending, totalOverdue, (int) totalTransactions, collectionRate);
+    }
+}
@@ -0,0 +1,121 @@
+package com.school.kps.service.Impl;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// Fee export reads on a small pool of their own whose connections have useCursorFetch on, so MySQL
+// hands rows over in fetch-size batches instead of buffering the whole result. Only this pool uses
+// server-side cursors; the application pool keeps ordinary statements. Rows go straight from the
+// result set to the writer, with no entities or persistence context in between.
+@Component
+public class FeeExportQueries {
+
+    private static final int FETCH_SIZE = 500;
+
+    // Same joins and filters as the fee list: a fee without a student is exported with empty student columns
+    private static final String EXPORT_SQL =
+            "SELECT f.fee_id, f.receipt_number, s.student_id, s.first_name, s.last_name, s.class, " +
+            "f.academic_year, f.total_amount, f.amount_paid, f.due_amount, f.payment_date, f.payment_mode, " +
+            "f.status, f.remarks " +
+            "FROM fees f LEFT JOIN students s ON s.student_id = f.student_id WHERE " +
+            "(? IS NULL OR s.class = ?) AND " +
+            "(? IS NULL OR f.status = ?) AND " +
+            "(? IS NULL OR f.payment_mode = ?) AND " +
+            "(? IS NULL OR f.payment_date >= ?) AND " +
+            "(? IS NULL OR f.payment_date <= ?) AND " +
+            "(? IS NULL OR LOWER(s.first_name) LIKE ? OR LOWER(s.last_name) LIKE ? OR LOWER(f.receipt_number) LIKE ?) " +
+            "ORDER BY f.fee_id";
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    // One connection per running export; the lists rate-limit group caps concurrent exports as well
+    @Value("${export.datasource.max-pool-size:4}")
+    private int maxPoolSize;
+
+    private HikariDataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @FunctionalInterface
+    public interface RowWriter {
+        void write(Object[] values) throws IOException;
+    }
+
+    @PostConstruct
+    public void init() {
+        this.dataSource = this.dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        this.dataSource.setPoolName("export");
+        this.dataSource.setMaximumPoolSize(this.maxPoolSize);
+        this.dataSource.setMinimumIdle(0);
+        this.dataSource.setReadOnly(true);
+        this.dataSource.addDataSourceProperty("useCursorFetch", "true");
+        this.jdbcTemplate = new JdbcTemplate(this.dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    @PreDestroy
+    public void close() {
+        this.dataSource.close();
+    }
+
+    // Each matching fee in id order as id, receiptNumber, studentId, firstName, lastName, className,
+    // academicYear, totalAmount, amountPaid, dueAmount, paymentDate, paymentMode, status, remarks.
+    // Search expects a lower-cased LIKE pattern.
+    public void forEachFee(String className, String status, String paymentMode, LocalDate dateFrom,
+                           LocalDate dateTo, String likeSearch, RowWriter writer) throws IOException {
+        // Typed, so "? IS NULL" binds the same way whether or not the filter is set
+        List<SqlParameterValue> args = new ArrayList<>();
+        for (String value : new String[]{className, status, paymentMode}) {
+            args.add(new SqlParameterValue(Types.VARCHAR, value));
+            args.add(new SqlParameterValue(Types.VARCHAR, value));
+        }
+        for (LocalDate value : new LocalDate[]{dateFrom, dateTo}) {
+            args.add(new SqlParameterValue(Types.DATE, value));
+            args.add(new SqlParameterValue(Types.DATE, value));
+        }
+        for (int i = 0; i < 4; i++) {
+            args.add(new SqlParameterValue(Types.VARCHAR, likeSearch));
+        }
+
+        try {
+            this.jdbcTemplate.query(EXPORT_SQL, (RowCallbackHandler) rs -> {
+                try {
+                    writer.write(values(rs));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, args.toArray());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private Object[] values(ResultSet rs) throws SQLException {
+        return new Object[]{
+                rs.getObject(1, Integer.class), rs.getString(2),
+                rs.getObject(3, Integer.class), rs.getString(4), rs.getString(5), rs.getString(6),
+                rs.getString(7), rs.getObject(8, BigDecimal.class), rs.getObject(9, BigDecimal.class),
+                rs.getObject(10, BigDecimal.class), rs.getObject(11, LocalDate.class), rs.getString(12),
+                rs.getString(13), rs.getString(14)
+        };
+    }
+}
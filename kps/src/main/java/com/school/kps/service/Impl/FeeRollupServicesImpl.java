@@ -0,0 +1,204 @@
+package com.school.kps.service.Impl;
+
+import com.school.kps.entity.Fee;
+import com.school.kps.entity.FeeDailyRollup;
+import com.school.kps.entity.FeeRollupState;
+import com.school.kps.repository.FeeDailyRollupRepo;
+import com.school.kps.repository.FeeRepo;
+import com.school.kps.repository.FeeRollupStateRepo;
+import com.school.kps.service.FeeRollupServices;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class FeeRollupServicesImpl implements FeeRollupServices {
+
+    @Autowired
+    private FeeDailyRollupRepo feeDailyRollupRepo;
+
+    @Autowired
+    private FeeRollupStateRepo feeRollupStateRepo;
+
+    @Autowired
+    private FeeRepo feeRepo;
+
+    // Days up to closedThrough live in the rollup, so a write to one of them is applied as a delta
+    // in the caller's transaction; later days and undated fees are always read from the fees table.
+    // closedThrough is read under the share lock even for today's fees: a fee dated today whose
+    // transaction commits after midnight may find its day already closed by the roll-up, which
+    // could not see the uncommitted row, so it has to go in as a delta
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void feeAdded(Fee fee) {
+        applyDelta(fee, 1);
+    }
+
+    // Bulk inserts: the state row is read once and fees sharing a rollup key are summed before applying
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void feesAdded(List<Fee> fees) {
+        if (fees.stream().noneMatch(f -> f.getPaymentDate() != null)) return;
+
+        LocalDate closedThrough = this.feeRollupStateRepo.lockForShare(FeeRollupState.ID)
+                .map(FeeRollupState::getClosedThrough)
+                .orElse(null);
+        if (closedThrough == null) return;
+
+        Map<List<Object>, FeeDailyRollup> deltas = new LinkedHashMap<>();
+        for (Fee fee : fees) {
+            LocalDate day = fee.getPaymentDate();
+            if (day == null || day.isAfter(closedThrough)) continue;
+
+            String academicYear = key(fee.getAcademicYear());
+            String className = key(fee.getStudent() != null ? fee.getStudent().getClassName() : null);
+            String paymentMode = key(fee.getPaymentMode());
+            String status = key(fee.getStatus());
+            FeeDailyRollup delta = deltas.computeIfAbsent(List.of(day, academicYear, className, paymentMode, status), k -> {
+                FeeDailyRollup rollup = new FeeDailyRollup();
+                rollup.setDay(day);
+                rollup.setAcademicYear(academicYear);
+                rollup.setClassName(className);
+                rollup.setPaymentMode(paymentMode);
+                rollup.setStatus(status);
+                return rollup;
+            });
+
+            delta.setFeeCount(delta.getFeeCount() + 1);
+            if (fee.getAmountPaid() != null) delta.setAmountPaid(delta.getAmountPaid().add(fee.getAmountPaid()));
+            if (fee.getDueAmount() != null) delta.setDueAmount(delta.getDueAmount().add(fee.getDueAmount()));
+        }
+        for (FeeDailyRollup delta : deltas.values()) {
+            this.feeDailyRollupRepo.applyDelta(delta.getDay(), delta.getAcademicYear(), delta.getClassName(),
+                    delta.getPaymentMode(), delta.getStatus(),
+                    delta.getFeeCount(), delta.getAmountPaid(), delta.getDueAmount());
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void feeRemoved(Fee fee) {
+        applyDelta(fee, -1);
+    }
+
+    private void applyDelta(Fee fee, int sign) {
+        LocalDate day = fee.getPaymentDate();
+        if (day == null) return;
+
+        LocalDate closedThrough = this.feeRollupStateRepo.lockForShare(FeeRollupState.ID)
+                .map(FeeRollupState::getClosedThrough)
+                .orElse(null);
+        if (closedThrough == null || day.isAfter(closedThrough)) return;
+
+        BigDecimal paid = fee.getAmountPaid() != null ? fee.getAmountPaid() : BigDecimal.ZERO;
+        BigDecimal due = fee.getDueAmount() != null ? fee.getDueAmount() : BigDecimal.ZERO;
+        this.feeDailyRollupRepo.applyDelta(day,
+                key(fee.getAcademicYear()),
+                key(fee.getStudent() != null ? fee.getStudent().getClassName() : null),
+                key(fee.getPaymentMode()),
+                key(fee.getStatus()),
+                sign,
+                sign > 0 ? paid : paid.negate(),
+                sign > 0 ? due : due.negate());
+    }
+
+    // Closes every day up to yesterday that is not in the rollup yet
+    @Override
+    @Scheduled(cron = "${fees.rollup.cron:0 5 0 * * *}")
+    @Transactional
+    public void rollUpClosedDays() {
+        FeeRollupState state = lockState();
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        LocalDate from = state.getClosedThrough() != null ? state.getClosedThrough().plusDays(1) : null;
+        if (from != null && from.isAfter(yesterday)) return;
+
+        rollUp(from, yesterday);
+        state.setClosedThrough(yesterday);
+    }
+
+    @Override
+    @Transactional
+    public LocalDate rebuild() {
+        FeeRollupState state = lockState();
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+
+        rollUp(null, yesterday);
+        state.setClosedThrough(yesterday);
+        return yesterday;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initialize() {
+        rollUpClosedDays();
+    }
+
+    private FeeRollupState lockState() {
+        return this.feeRollupStateRepo.lockForUpdate(FeeRollupState.ID)
+                .orElseGet(() -> this.feeRollupStateRepo.saveAndFlush(new FeeRollupState()));
+    }
+
+    // Recomputes [from, to] from the fees table; a null from recomputes everything
+    private void rollUp(LocalDate from, LocalDate to) {
+        if (from == null) {
+            this.feeDailyRollupRepo.deleteAllInBatch();
+        } else {
+            this.feeDailyRollupRepo.deleteDays(from, to);
+        }
+
+        List<FeeDailyRollup> rollups = new ArrayList<>();
+        for (Object[] row : this.feeRepo.sumByDayClassModeStatus(from, to)) {
+            FeeDailyRollup rollup = new FeeDailyRollup();
+            rollup.setDay((LocalDate) row[0]);
+            rollup.setAcademicYear(key((String) row[1]));
+            rollup.setClassName(key((String) row[2]));
+            rollup.setPaymentMode(key((String) row[3]));
+            rollup.setStatus(key((String) row[4]));
+            rollup.setFeeCount(((Number) row[5]).longValue());
+            rollup.setAmountPaid(row[6] != null ? (BigDecimal) row[6] : BigDecimal.ZERO);
+            rollup.setDueAmount(row[7] != null ? (BigDecimal) row[7] : BigDecimal.ZERO);
+            rollups.add(rollup);
+        }
+        this.feeDailyRollupRepo.saveAll(rollups);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Object[]> sumByMonthClassModeStatus(String academicYear, LocalDate dateFrom, LocalDate dateTo) {
+        // Both halves are read in one transaction so a concurrent roll-up cannot count a day twice
+        LocalDate closedThrough = this.feeRollupStateRepo.findById(FeeRollupState.ID)
+                .map(FeeRollupState::getClosedThrough)
+                .orElse(null);
+
+        List<Object[]> rows = new ArrayList<>();
+        if (closedThrough != null) {
+            for (Object[] row : this.feeDailyRollupRepo.sumByMonthClassModeStatus(academicYear, dateFrom, dateTo)) {
+                row[2] = unkey((String) row[2]);
+                row[3] = unkey((String) row[3]);
+                row[4] = unkey((String) row[4]);
+                rows.add(row);
+            }
+        }
+        rows.addAll(this.feeRepo.sumOpenByMonthClassModeStatus(academicYear, dateFrom, dateTo, closedThrough));
+        return rows;
+    }
+
+    private String key(String value) {
+        return value != null ? value : "";
+    }
+
+    private String unkey(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+}
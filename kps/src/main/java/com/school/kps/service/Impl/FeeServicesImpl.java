@@ -2,23 +2,47 @@ package com.school.kps.service.Impl;
 
 import com.school.kps.entity.Fee;
 import com.school.kps.entity.Student;
+import com.school.kps.exception.BadRequestException;
 import com.school.kps.exception.ResourceNotFoundException;
+import com.school.kps.mapper.FeeMapper;
 import com.school.kps.payload.*;
 import com.school.kps.repository.FeeRepo;
 import com.school.kps.repository.StudentRepo;
+import com.school.kps.service.FeeAggregateServices;
+import com.school.kps.service.FeeRollupServices;
 import com.school.kps.service.FeeServices;
-import org.modelmapper.ModelMapper;
+import com.school.kps.service.ReceiptNumberServices;
+import com.school.kps.service.SearchIndexServices;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.cache.interceptor.SimpleKey;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.*;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 
+import java.time.LocalDate;
 import java.time.Month;
+import java.time.YearMonth;
 import java.time.format.TextStyle;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 @Service
 public class FeeServicesImpl implements FeeServices {
@@ -29,22 +53,92 @@ public class FeeServicesImpl implements FeeServices {
     @Autowired
     private StudentRepo studentRepo;
     @Autowired
-    private ModelMapper modelMapper;
+    private FeeMapper feeMapper;
 
+    @Autowired
+    private FeeAggregateServices feeAggregateServices;
+
+    @Autowired
+    private FeeRollupServices feeRollupServices;
+
+    @Autowired
+    private ReceiptNumberServices receiptNumberServices;
+
+    @Autowired
+    private KeysetPaging keysetPaging;
+
+    @Autowired
+    private SearchIndexServices searchIndexServices;
+
+    @Autowired
+    private SliceQueries sliceQueries;
+
+    @Autowired
+    private FeeExportQueries feeExportQueries;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private static final String[] EXPORT_COLUMNS = {
+            "id", "receiptNumber", "studentId", "firstName", "lastName", "className", "academicYear",
+            "totalAmount", "amountPaid", "dueAmount", "paymentDate", "paymentMode", "status", "remarks"
+    };
+
+    private static final int EXPORT_FLUSH_ROWS = 500;
+
+    private static final Pattern ACADEMIC_YEAR = Pattern.compile("(\\d{4})-(\\d{2}|\\d{4})");
+
+    private static final int MAX_BULK_FEES = 5000;
+
+    // Rows per transaction; JDBC batches (hibernate.jdbc.batch_size) are smaller
+    private static final int BULK_CHUNK_ROWS = 500;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate writeTransaction;
+
+    @PostConstruct
+    public void init() {
+        this.writeTransaction = new TransactionTemplate(this.transactionManager);
+    }
+
+    // Receipt numbers are taken before the transaction opens: refilling a block needs a connection of
+    // its own, and callers queued behind the refill must not be sitting on pooled connections meanwhile
     @Override
     public FeeDto addFee(FeeDto feeDto, Integer studentId) {
-        // Manual mapping instead of ModelMapper for FeeDto -> Fee
-        Fee fee = new Fee();
-        fee.setTotalAmount(feeDto.getTotalAmount());
-        fee.setAmountPaid(feeDto.getAmountPaid() != null ? feeDto.getAmountPaid() : BigDecimal.ZERO);
-        fee.setPaymentMode(feeDto.getPaymentMode());
-        fee.setPaymentDate(feeDto.getPaymentDate());
-        fee.setRemarks(feeDto.getRemarks());
-        fee.setAcademicYear(feeDto.getAcademicYear());
+        String receiptNumber = this.receiptNumberServices.nextReceiptNumber();
+
+        return this.writeTransaction.execute(status -> {
+            // Find student
+            Student student = this.studentRepo.findById(studentId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Student", "id", studentId));
+            Fee fee = newFee(feeDto, student);
+            fee.setReceiptNumber(receiptNumber);
+
+            // Save fee
+            Fee savedFee = this.feeRepo.save(fee);
+            this.feeAggregateServices.feeAdded(savedFee);
+            this.feeRollupServices.feeAdded(savedFee);
+            this.searchIndexServices.feesSaved(List.of(savedFee));
+
+            return this.feeMapper.toDto(savedFee);
+        });
+    }
 
-        // Find student
-        Student student = this.studentRepo.findById(studentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Student", "id", studentId));
+    // FeeDto -> Fee, with due amount and status derived
+    private Fee newFee(FeeDto feeDto, Student student) {
+        Fee fee = this.feeMapper.toEntity(feeDto);
+        if (fee.getAmountPaid() == null) fee.setAmountPaid(BigDecimal.ZERO);
         fee.setStudent(student);
 
         // Calculate due amount
@@ -62,44 +156,114 @@ public class FeeServicesImpl implements FeeServices {
         } else {
             fee.setStatus("Partially Paid");
         }
+        return fee;
+    }
 
-        // Generate unique receipt number
-        fee.setReceiptNumber(generateReceiptNumber());
-
-        // Save fee
-        Fee savedFee = this.feeRepo.save(fee);
-
-        // Map back to DTO (you can still use ModelMapper here safely)
-        FeeDto savedDto = new FeeDto();
-        savedDto.setId(savedFee.getId());
-        savedDto.setTotalAmount(savedFee.getTotalAmount());
-        savedDto.setAmountPaid(savedFee.getAmountPaid());
-        savedDto.setDueAmount(savedFee.getDueAmount());
-        savedDto.setPaymentMode(savedFee.getPaymentMode());
-        savedDto.setPaymentDate(savedFee.getPaymentDate());
-        savedDto.setStatus(savedFee.getStatus());
-        savedDto.setReceiptNumber(savedFee.getReceiptNumber());
-        savedDto.setRemarks(savedFee.getRemarks());
-        savedDto.setAcademicYear(savedFee.getAcademicYear());
+    @Override
+    public BulkFeeResponseDto addFees(List<FeeDto> feeDtos) {
+        if (feeDtos == null || feeDtos.isEmpty()) {
+            throw new BadRequestException("No fee records supplied");
+        }
+        if (feeDtos.size() > MAX_BULK_FEES) {
+            throw new BadRequestException("At most " + MAX_BULK_FEES + " fee records can be posted at once");
+        }
 
-        // Include student info in DTO if needed
-        savedDto.setStudentId(savedFee.getStudent().getId());
+        // Every referenced student in one query
+        Set<Integer> studentIds = feeDtos.stream()
+                .filter(Objects::nonNull)
+                .map(FeeDto::getStudentId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Integer, Student> students = this.studentRepo.findAllById(studentIds).stream()
+                .collect(Collectors.toMap(Student::getId, student -> student));
+
+        BulkFeeResultDto[] results = new BulkFeeResultDto[feeDtos.size()];
+        List<Integer> chunkRows = new ArrayList<>(BULK_CHUNK_ROWS);
+        int created = 0;
+        for (int i = 0; i < feeDtos.size(); i++) {
+            String error = validateBulkFee(feeDtos.get(i), students);
+            if (error != null) {
+                results[i] = new BulkFeeResultDto(i, null, null, false, error);
+                continue;
+            }
+            chunkRows.add(i);
+            if (chunkRows.size() == BULK_CHUNK_ROWS) {
+                created += insertChunk(feeDtos, chunkRows, students, results);
+                chunkRows.clear();
+            }
+        }
+        if (!chunkRows.isEmpty()) {
+            created += insertChunk(feeDtos, chunkRows, students, results);
+        }
 
+        return new BulkFeeResponseDto(feeDtos.size(), created, feeDtos.size() - created, Arrays.asList(results));
+    }
 
-        return savedDto;
+    // One transaction per chunk: a database failure rolls back and is reported on that chunk's rows only,
+    // earlier chunks stay committed
+    private int insertChunk(List<FeeDto> feeDtos, List<Integer> rows, Map<Integer, Student> students,
+                            BulkFeeResultDto[] results) {
+        // Reserved outside the chunk's transaction, as in addFee
+        List<String> receiptNumbers = new ArrayList<>(rows.size());
+        for (int k = 0; k < rows.size(); k++) {
+            receiptNumbers.add(this.receiptNumberServices.nextReceiptNumber());
+        }
+        try {
+            List<Fee> fees = this.writeTransaction.execute(status -> {
+                List<Fee> chunk = new ArrayList<>(rows.size());
+                for (int k = 0; k < rows.size(); k++) {
+                    FeeDto feeDto = feeDtos.get(rows.get(k));
+                    Fee fee = newFee(feeDto, students.get(feeDto.getStudentId()));
+                    fee.setReceiptNumber(receiptNumbers.get(k));
+                    // Table-generated ids are assigned here, so the inserts themselves wait for the flush and go out batched
+                    this.feeRepo.save(fee);
+                    chunk.add(fee);
+                }
+                this.entityManager.flush();
+                this.feeAggregateServices.feesAdded(chunk);
+                this.feeRollupServices.feesAdded(chunk);
+                this.searchIndexServices.feesSaved(chunk);
+                this.entityManager.clear();
+                return chunk;
+            });
+            for (int k = 0; k < rows.size(); k++) {
+                Fee fee = fees.get(k);
+                results[rows.get(k)] = new BulkFeeResultDto(rows.get(k), fee.getId(), fee.getReceiptNumber(), true, "Fee created");
+            }
+            return fees.size();
+        } catch (RuntimeException e) {
+            String message = "Not saved, chunk rolled back: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            rows.forEach(row -> results[row] = new BulkFeeResultDto(row, null, null, false, message));
+            return 0;
+        }
     }
 
-    // Utility to generate receipt number
-    private String generateReceiptNumber() {
-        String datePart = java.time.LocalDate.now().format(java.time.format.DateTimeFormatter.BASIC_ISO_DATE);
-        int randomPart = (int) (Math.random() * 900 + 100);
-        return "RCP" + datePart + randomPart;
+    private String validateBulkFee(FeeDto feeDto, Map<Integer, Student> students) {
+        if (feeDto == null) {
+            return "Fee record is empty";
+        }
+        Set<ConstraintViolation<FeeDto>> violations = this.validator.validate(feeDto);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        if (!students.containsKey(feeDto.getStudentId())) {
+            return "Student not found with id : " + feeDto.getStudentId();
+        }
+        return null;
     }
 
 
+
     @Override
+    @Transactional
     public FeeDto updateFee(FeeDto feeDto, Integer id) {
         Fee fee = this.feeRepo.findById(id).orElseThrow(() -> new ResourceNotFoundException("fee", "id", id));
+        // Take the old amounts out of the totals before they are overwritten
+        this.feeAggregateServices.feeRemoved(fee);
+        this.feeRollupServices.feeRemoved(fee);
 //        if (feeDto.getStudentId() != null) {
 //            Student student = this.studentRepo.findById(feeDto.getStudentId())
 //                    .orElseThrow(() -> new ResourceNotFoundException("Student", "id", feeDto.getStudentId()));
@@ -123,15 +287,21 @@ public class FeeServicesImpl implements FeeServices {
             fee.setStatus("Partially Paid");
 
         Fee updatedFee = this.feeRepo.save(fee);
-        return this.modelMapper.map(updatedFee, FeeDto.class);
+        this.feeAggregateServices.feeAdded(updatedFee);
+        this.feeRollupServices.feeAdded(updatedFee);
+        return this.feeMapper.toDto(updatedFee);
 
     }
 
     @Override
+    @Transactional
     public FeeDto deleteFee(Integer id) {
         Fee fee = this.feeRepo.findById(id).orElseThrow(() -> new ResourceNotFoundException("fee", "id", id));
         this.feeRepo.delete(fee);
-        return this.modelMapper.map(fee, FeeDto.class);
+        this.feeAggregateServices.feeRemoved(fee);
+        this.feeRollupServices.feeRemoved(fee);
+        this.searchIndexServices.feesDeleted(List.of(fee));
+        return this.feeMapper.toDto(fee);
     }
 
     public Page<FeeDto> getAllFees(
@@ -142,6 +312,73 @@ public class FeeServicesImpl implements FeeServices {
         Sort sort = sortDir.equalsIgnoreCase("asc") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
         Pageable pageable = PageRequest.of(pageNumber, pageSize, sort);
 
+        Specification<Fee> spec = feeFilter(className, paymentStatus, paymentMode, dateFrom, dateTo, search);
+
+        Page<Fee> feePage = feeRepo.findAll(spec, pageable);
+        List<FeeDto> feeDtos = feePage.getContent()
+                .stream()
+                .map(f -> feeMapper.toDto(f))
+                .toList();
+
+        return new PageImpl<>(feeDtos, pageable, feePage.getTotalElements());
+    }
+
+    @Override
+    public CursorPageDto<FeeDto> getFeesAfter(
+            String cursor, int pageSize, String sortBy, String sortDir,
+            String className, String paymentStatus, String paymentMode,
+            String dateFrom, String dateTo, String search
+    ) {
+        Specification<Fee> spec = feeFilter(className, paymentStatus, paymentMode, dateFrom, dateTo, search)
+                .and(this.keysetPaging.after(cursor, sortBy, sortDir));
+
+        // One extra row tells us whether another page exists without a COUNT
+        List<Fee> fees = this.feeRepo.findBy(spec, q -> q
+                .sortBy(this.keysetPaging.sort(sortBy, sortDir))
+                .limit(pageSize + 1)
+                .all());
+
+        boolean hasNext = fees.size() > pageSize;
+        if (hasNext) fees = fees.subList(0, pageSize);
+        String nextCursor = hasNext ? this.keysetPaging.cursorFor(fees.get(fees.size() - 1), sortBy, sortDir) : null;
+
+        List<FeeDto> feeDtos = fees.stream()
+                .map(f -> feeMapper.toDto(f))
+                .toList();
+        return new CursorPageDto<>(feeDtos, feeDtos.size(), hasNext, nextCursor);
+    }
+
+    @Override
+    public SlicePageDto<FeeDto> getFeesSlice(
+            int pageNumber, int pageSize, String sortBy, String sortDir,
+            String className, String paymentStatus, String paymentMode,
+            String dateFrom, String dateTo, String search, boolean approximateCount
+    ) {
+        Sort sort = sortDir.equalsIgnoreCase("asc") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
+        Pageable pageable = PageRequest.of(pageNumber, pageSize, sort);
+        Specification<Fee> spec = feeFilter(className, paymentStatus, paymentMode, dateFrom, dateTo, search);
+
+        Slice<Fee> feeSlice = this.sliceQueries.findSlice(Fee.class, spec, pageable);
+        List<FeeDto> feeDtos = feeSlice.getContent()
+                .stream()
+                .map(f -> feeMapper.toDto(f))
+                .toList();
+
+        Long total = null;
+        boolean statusOnly = Stream.of(className, paymentMode, dateFrom, dateTo, search).allMatch(f -> emptyToNull(f) == null);
+        if (approximateCount && statusOnly) {
+            // Unfiltered or status-only: the fee aggregate rows already hold the count
+            total = this.feeAggregateServices.countFees(emptyToNull(paymentStatus));
+        } else if (approximateCount) {
+            // Any other filter is an exact COUNT, shared by every page of the same filter until the entry expires
+            SimpleKey key = new SimpleKey(className, paymentStatus, paymentMode, dateFrom, dateTo, search);
+            total = this.cacheManager.getCache("feeCounts").get(key, () -> this.feeRepo.count(spec));
+        }
+        return new SlicePageDto<>(feeDtos, pageNumber, pageSize, feeSlice.hasNext(), total);
+    }
+
+    private Specification<Fee> feeFilter(String className, String paymentStatus, String paymentMode,
+                                         String dateFrom, String dateTo, String search) {
         Specification<Fee> spec = (Specification<Fee>) (root, query, cb) -> cb.conjunction();
 
 
@@ -155,164 +392,272 @@ public class FeeServicesImpl implements FeeServices {
             spec = spec.and((root, query, cb) -> cb.equal(root.get("paymentMode"), paymentMode));
 
         if (dateFrom != null && !dateFrom.isEmpty())
-            spec = spec.and((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("paymentDate"), dateFrom));
+            spec = spec.and((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("paymentDate"), LocalDate.parse(dateFrom)));
 
         if (dateTo != null && !dateTo.isEmpty())
-            spec = spec.and((root, query, cb) -> cb.lessThanOrEqualTo(root.get("paymentDate"), dateTo));
-
-        if (search != null && !search.isEmpty())
+            spec = spec.and((root, query, cb) -> cb.lessThanOrEqualTo(root.get("paymentDate"), LocalDate.parse(dateTo)));
+
+        // Trigram index narrows the search to candidate ids; when it cannot answer, use LIKE
+        Set<Integer> studentIds = search != null && !search.isEmpty() ? this.searchIndexServices.matchStudentNames(search) : null;
+        Set<Integer> feeIds = search != null && !search.isEmpty() ? this.searchIndexServices.matchReceipts(search) : null;
+        if (studentIds != null && feeIds != null) {
+            if (studentIds.isEmpty() && feeIds.isEmpty())
+                spec = spec.and((root, query, cb) -> cb.disjunction());
+            else if (feeIds.isEmpty())
+                spec = spec.and((root, query, cb) -> root.get("student").get("id").in(studentIds));
+            else if (studentIds.isEmpty())
+                spec = spec.and((root, query, cb) -> root.get("id").in(feeIds));
+            else
+                spec = spec.and((root, query, cb) -> cb.or(
+                        root.get("student").get("id").in(studentIds),
+                        root.get("id").in(feeIds)
+                ));
+        } else if (search != null && !search.isEmpty())
             spec = spec.and((root, query, cb) -> cb.or(
                     cb.like(cb.lower(root.get("student").get("firstName")), "%" + search.toLowerCase() + "%"),
                     cb.like(cb.lower(root.get("student").get("lastName")), "%" + search.toLowerCase() + "%"),
                     cb.like(cb.lower(root.get("receiptNumber")), "%" + search.toLowerCase() + "%")
             ));
 
-        Page<Fee> feePage = feeRepo.findAll(spec, pageable);
-        List<FeeDto> feeDtos = feePage.getContent()
-                .stream()
-                .map(f -> modelMapper.map(f, FeeDto.class))
-                .toList();
+        return spec;
+    }
 
-        return new PageImpl<>(feeDtos, pageable, feePage.getTotalElements());
+
+    @Override
+    public void exportFees(OutputStream out, String format,
+                           String className, String paymentStatus, String paymentMode,
+                           LocalDate dateFrom, LocalDate dateTo, String search) throws IOException {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (!csv && !"ndjson".equalsIgnoreCase(format)) {
+            throw new BadRequestException("Unsupported export format: " + format);
+        }
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (csv) {
+            writer.write(String.join(",", EXPORT_COLUMNS));
+            writer.write('\n');
+        }
+
+        String likeSearch = search != null && !search.isEmpty() ? "%" + search.toLowerCase() + "%" : null;
+        int[] rows = {0};
+        this.feeExportQueries.forEachFee(
+                emptyToNull(className), emptyToNull(paymentStatus), emptyToNull(paymentMode),
+                dateFrom, dateTo, likeSearch, values -> {
+                    if (csv) {
+                        writeCsvLine(writer, values);
+                    } else {
+                        Map<String, Object> json = new LinkedHashMap<>();
+                        for (int i = 0; i < EXPORT_COLUMNS.length; i++) json.put(EXPORT_COLUMNS[i], values[i]);
+                        writer.write(this.objectMapper.writeValueAsString(json));
+                        writer.write('\n');
+                    }
+                    if (++rows[0] % EXPORT_FLUSH_ROWS == 0) writer.flush();
+                });
+        writer.flush();
+    }
+
+    private void writeCsvLine(Writer writer, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) writer.write(',');
+            if (values[i] == null) continue;
+            String value = values[i].toString();
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value);
+            }
+        }
+        writer.write('\n');
     }
 
+    private String emptyToNull(String value) {
+        return value != null && !value.isEmpty() ? value : null;
+    }
 
     @Override
     public FeeDto getFeeById(Integer id) {
         Fee fee = this.feeRepo.findById(id).orElseThrow(() -> new ResourceNotFoundException("fee", "id", id));
-        return this.modelMapper.map(fee, FeeDto.class);
+        return this.feeMapper.toDto(fee);
     }
 
     @Override
     public List<FeeDto> getFeesByStudentId(Integer id) {
-        Student student = this.studentRepo.findById(id).orElseThrow(() -> new ResourceNotFoundException("student", "id", id));
-        List<Fee> fees = this.feeRepo.findByStudent(student);
-        return fees.stream().map(fee -> this.modelMapper.map(fee, FeeDto.class)).collect(Collectors.toList());
+        if (!this.studentRepo.existsById(id)) throw new ResourceNotFoundException("student", "id", id);
+        return toFeeDtos(this.feeRepo.findRowsByStudentId(id));
     }
 
 
     @Override
     public List<FeeDto> getFeesByStatus(String status) {
-        List<Fee> fees = this.feeRepo.findByStatus(status);
-        return fees.stream().map(fee -> this.modelMapper.map(fee, FeeDto.class)).collect(Collectors.toList());
+        return toFeeDtos(this.feeRepo.findRowsByStatus(status));
     }
 
     @Override
     public List<FeeDto> getFeesByAcademicYear(String academicYear) {
-        List<Fee> fees = this.feeRepo.findByAcademicYear(academicYear);
-        return fees.stream().map(fee -> this.modelMapper.map(fee, FeeDto.class)).collect(Collectors.toList());
+        return toFeeDtos(this.feeRepo.findRowsByAcademicYear(academicYear));
 
     }
 
     @Override
     public List<FeeDto> getFeesByStudentClassName(String className) {
-        List<Fee> fees = this.feeRepo.findByStudentClassName(className);
-        return fees.stream().map(fee -> this.modelMapper.map(fee, FeeDto.class)).collect(Collectors.toList());
+        return toFeeDtos(this.feeRepo.findRowsByStudentClassName(className));
     }
 
     @Override
     public List<FeeDto> findFeesByStudentName(String name) {
-        List<Fee> fees = this.feeRepo.findByStudentName(name);
-        return fees.stream().map(fee -> this.modelMapper.map(fee, FeeDto.class)).collect(Collectors.toList());
+        Set<Integer> studentIds = this.searchIndexServices.matchStudentNames(name);
+        List<FeeRow> fees = studentIds != null
+                ? (studentIds.isEmpty() ? List.of() : this.feeRepo.findRowsByStudentIdIn(studentIds))
+                : this.feeRepo.findRowsByStudentName(name);
+        return toFeeDtos(fees);
     }
 
     @Override
     public List<FeeDto> findFeesByClassNameAndStatus(String className, String status) {
-        List<Fee> fees = this.feeRepo.findFeesByFilters(className, status);
-        return fees.stream().map(fee -> this.modelMapper.map(fee, FeeDto.class)).collect(Collectors.toList());
+        return toFeeDtos(this.feeRepo.findRowsByFilters(className, status));
 
     }
 
+    // The nested student carries only the columns selected into FeeRow
+    private List<FeeDto> toFeeDtos(List<FeeRow> rows) {
+        List<FeeDto> feeDtos = new ArrayList<>(rows.size());
+        for (FeeRow row : rows) {
+            FeeDto feeDto = new FeeDto();
+            feeDto.setId(row.id());
+            feeDto.setAcademicYear(row.academicYear());
+            feeDto.setTotalAmount(row.totalAmount());
+            feeDto.setAmountPaid(row.amountPaid());
+            feeDto.setDueAmount(row.dueAmount());
+            feeDto.setPaymentDate(row.paymentDate());
+            feeDto.setPaymentMode(row.paymentMode());
+            feeDto.setReceiptNumber(row.receiptNumber());
+            feeDto.setStatus(row.status());
+            feeDto.setRemarks(row.remarks());
+            if (row.studentId() != null) {
+                StudentDto student = new StudentDto();
+                student.setId(row.studentId());
+                student.setFirstName(row.firstName());
+                student.setLastName(row.lastName());
+                student.setClassName(row.className());
+                feeDto.setStudentId(row.studentId());
+                feeDto.setStudent(student);
+            }
+            feeDtos.add(feeDto);
+        }
+        return feeDtos;
+    }
+
     @Override
     public FeeSummaryDto getFeeSummary() {
-        List<Fee> fees = this.feeRepo.findAll();
-
-        BigDecimal totalCollected = fees.stream()
-                .filter(f -> "Paid".equalsIgnoreCase(f.getStatus()))
-                .map(Fee::getAmountPaid)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal totalPending = fees.stream()
-                .filter(f -> "Pending".equalsIgnoreCase(f.getStatus()))
-                .map(Fee::getDueAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal totalOverdue = fees.stream()
-                .filter(f -> "Partially Paid".equalsIgnoreCase(f.getStatus()))
-                .map(Fee::getDueAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        int totalTransactions = fees.size();
-
-        int collectionRate = (totalCollected.add(totalPending).add(totalOverdue).compareTo(BigDecimal.ZERO) > 0) ?
-                totalCollected.multiply(BigDecimal.valueOf(100))
-                        .divide(totalCollected.add(totalPending).add(totalOverdue), BigDecimal.ROUND_HALF_UP)
-                        .intValue() : 0;
-
-        return new FeeSummaryDto(totalCollected, totalPending, totalOverdue, totalTransactions, collectionRate);
+        return this.feeAggregateServices.getSummary();
     }
 
     @Override
-    public List<MonthlyFeeDto> getMonthlyFeeTrend() {
-        List<Fee> fees = this.feeRepo.findAll();
-
-        Map<Month, MonthlyFeeDto> monthMap = new LinkedHashMap<>();
-        for (Month month : Month.values()) {
-            monthMap.put(month, new MonthlyFeeDto(
-                    month.getDisplayName(TextStyle.SHORT, Locale.ENGLISH),
-                    BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO
-            ));
-        }
+    public List<MonthlyFeeDto> getMonthlyFeeTrend(String academicYear, LocalDate dateFrom, LocalDate dateTo) {
+        return getFeeAnalytics(academicYear, dateFrom, dateTo).getMonthly();
+    }
 
-        for (Fee f : fees) {
-            if (f.getPaymentDate() == null) continue;
-            Month m = f.getPaymentDate().getMonth();
-            MonthlyFeeDto dto = monthMap.get(m);
-            switch (f.getStatus().toLowerCase()) {
-                case "paid":
-                    dto.setCollected(dto.getCollected().add(f.getAmountPaid()));
-                    break;
-                case "pending":
-                    dto.setPending(dto.getPending().add(f.getDueAmount()));
-                    break;
-                case "partially paid":
-                    dto.setOverdue(dto.getOverdue().add(f.getDueAmount()));
-                    break;
-            }
-        }
+    @Override
+    public List<ClassWiseFeeDto> getClassWiseCollection(String academicYear, LocalDate dateFrom, LocalDate dateTo) {
+        return getFeeAnalytics(academicYear, dateFrom, dateTo).getClassWise();
+    }
 
-        return new ArrayList<>(monthMap.values());
+    @Override
+    // 4️⃣ Payment Mode Distribution
+    public List<PaymentModeDto> getPaymentModeDistribution(String academicYear, LocalDate dateFrom, LocalDate dateTo) {
+        return getFeeAnalytics(academicYear, dateFrom, dateTo).getPaymentModes();
     }
 
     @Override
-    public List<ClassWiseFeeDto> getClassWiseCollection() {
-        List<Fee> fees = this.feeRepo.findAll();
-
-        Map<String, BigDecimal> classMap = new HashMap<>();
-        for (Fee f : fees) {
-            if (!"Paid".equalsIgnoreCase(f.getStatus())) continue;
-            String className = f.getStudent().getClassName(); // adjust if different
-            classMap.put(className, classMap.getOrDefault(className, BigDecimal.ZERO).add(f.getAmountPaid()));
+    public FeeAnalyticsDto getFeeAnalytics(String academicYear, LocalDate dateFrom, LocalDate dateTo) {
+        // One grouped read feeds all three charts: closed days from the daily rollup, the rest from fees
+        List<Object[]> rows = this.feeRollupServices.sumByMonthClassModeStatus(academicYear, dateFrom, dateTo);
+
+        TreeMap<YearMonth, MonthlyFeeDto> monthMap = new TreeMap<>();
+        Integer startYear = academicYearStart(academicYear);
+        if (startYear != null) {
+            // An academic year always charts its twelve months, April to March, even before any payment
+            YearMonth april = YearMonth.of(startYear, Month.APRIL);
+            for (int i = 0; i < 12; i++) {
+                YearMonth ym = april.plusMonths(i);
+                monthlyEntry(monthMap, ym.getYear(), ym.getMonthValue());
+            }
+        }
+        Map<String, BigDecimal> classMap = new LinkedHashMap<>();
+        Map<String, Long> modeCount = new LinkedHashMap<>();
+        long total = 0;
+
+        for (Object[] row : rows) {
+            String className = (String) row[2];
+            String mode = (String) row[3];
+            String status = row[4] != null ? ((String) row[4]).toLowerCase() : "";
+            long count = ((Number) row[5]).longValue();
+            BigDecimal paid = toBigDecimal(row[6]);
+            BigDecimal due = toBigDecimal(row[7]);
+
+            if (row[0] != null) {
+                MonthlyFeeDto dto = monthlyEntry(monthMap, ((Number) row[0]).intValue(), ((Number) row[1]).intValue());
+                switch (status) {
+                    case "paid" -> dto.setCollected(dto.getCollected().add(paid));
+                    case "pending" -> dto.setPending(dto.getPending().add(due));
+                    case "partially paid" -> dto.setOverdue(dto.getOverdue().add(due));
+                }
+            }
+            if ("paid".equals(status)) {
+                classMap.merge(className, paid, BigDecimal::add);
+            }
+            total += count;
+            if (mode != null) modeCount.merge(mode, count, Long::sum);
         }
 
-        return classMap.entrySet().stream()
+        List<ClassWiseFeeDto> classWise = classMap.entrySet().stream()
                 .map(e -> new ClassWiseFeeDto(e.getKey(), e.getValue()))
                 .collect(Collectors.toList());
+        return new FeeAnalyticsDto(toMonthlyTrend(monthMap), classWise, toPaymentModeShares(modeCount, total));
     }
 
-    @Override
-    // 4️⃣ Payment Mode Distribution
-    public List<PaymentModeDto> getPaymentModeDistribution() {
-        List<Fee> fees = this.feeRepo.findAll();
-        int total = fees.size();
+    private MonthlyFeeDto monthlyEntry(Map<YearMonth, MonthlyFeeDto> monthMap, int year, int month) {
+        return monthMap.computeIfAbsent(YearMonth.of(year, month), ym -> new MonthlyFeeDto(
+                ym.getMonth().getDisplayName(TextStyle.SHORT, Locale.ENGLISH),
+                BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, ym.getYear()
+        ));
+    }
 
-        Map<String, Long> modeCount = fees.stream()
-                .collect(Collectors.groupingBy(Fee::getPaymentMode, Collectors.counting()));
+    // "2024-2025" or "2024-25"; null when the filter is not in that shape
+    private Integer academicYearStart(String academicYear) {
+        if (academicYear == null) return null;
+        Matcher matcher = ACADEMIC_YEAR.matcher(academicYear.trim());
+        if (!matcher.matches()) return null;
+        int first = Integer.parseInt(matcher.group(1));
+        int second = Integer.parseInt(matcher.group(2));
+        return second == first + 1 || second == (first + 1) % 100 ? first : null;
+    }
+
+    private List<MonthlyFeeDto> toMonthlyTrend(TreeMap<YearMonth, MonthlyFeeDto> monthMap) {
+        // Fill months without payments so the trend has no holes. Without an academic year the trend spans
+        // the first to the last month with payments; payments dated outside a given year extend its span
+        if (!monthMap.isEmpty()) {
+            YearMonth last = monthMap.lastKey();
+            for (YearMonth ym = monthMap.firstKey(); ym.isBefore(last); ym = ym.plusMonths(1)) {
+                monthlyEntry(monthMap, ym.getYear(), ym.getMonthValue());
+            }
+        }
+        return new ArrayList<>(monthMap.values());
+    }
 
+    private List<PaymentModeDto> toPaymentModeShares(Map<String, Long> modeCount, long total) {
         return modeCount.entrySet().stream()
                 .map(e -> new PaymentModeDto(e.getKey(), (int) ((e.getValue() * 100) / total)))
                 .collect(Collectors.toList());
     }
 
+    private BigDecimal toBigDecimal(Object value) {
+        if (value == null) return BigDecimal.ZERO;
+        if (value instanceof BigDecimal) return (BigDecimal) value;
+        return new BigDecimal(value.toString());
+    }
+
 
 }
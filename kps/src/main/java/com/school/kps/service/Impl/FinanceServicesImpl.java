@@ -0,0 +1,123 @@
+package com.school.kps.service.Impl;
+
+import com.school.kps.exception.BadRequestException;
+import com.school.kps.payload.CashFlowDto;
+import com.school.kps.payload.MonthlyCashFlowDto;
+import com.school.kps.repository.SalaryRepo;
+import com.school.kps.service.FeeRollupServices;
+import com.school.kps.service.FinanceServices;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.YearMonth;
+import java.time.format.TextStyle;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Both sides are grouped in SQL and fetched in parallel on the analytics executor; no fee or salary rows are loaded
+@Service
+public class FinanceServicesImpl implements FinanceServices {
+
+    private static final Pattern ACADEMIC_YEAR = Pattern.compile("(\\d{4})-(\\d{2}|\\d{4})");
+
+    @Autowired
+    private FeeRollupServices feeRollupServices;
+
+    @Autowired
+    private SalaryRepo salaryRepo;
+
+    @Autowired
+    private AnalyticsFanOut analyticsFanOut;
+
+    @Override
+    public CashFlowDto getCashFlow(String academicYear) {
+        long start = System.nanoTime();
+        int startYear = academicYearStart(academicYear);
+        LocalDate dateFrom = LocalDate.of(startYear, Month.APRIL, 1);
+        LocalDate dateTo = LocalDate.of(startYear + 1, Month.MARCH, 31);
+        Map<String, Long> timings = Collections.synchronizedMap(new LinkedHashMap<>());
+
+        // year, month, className, paymentMode, status, count, amountPaid, dueAmount
+        CompletableFuture<List<Object[]>> fees =
+                this.analyticsFanOut.timed("income", timings, () -> this.feeRollupServices.sumByMonthClassModeStatus(null, dateFrom, dateTo));
+        // year, month, status, amount
+        CompletableFuture<List<Object[]>> salaries =
+                this.analyticsFanOut.timed("payroll", timings, () -> this.salaryRepo.sumByMonthAndStatus(dateFrom, dateTo));
+        this.analyticsFanOut.awaitAll(fees, salaries);
+
+        Map<YearMonth, MonthlyCashFlowDto> months = new LinkedHashMap<>();
+        for (YearMonth ym = YearMonth.from(dateFrom); !ym.isAfter(YearMonth.from(dateTo)); ym = ym.plusMonths(1)) {
+            months.put(ym, new MonthlyCashFlowDto(ym.getMonth().getDisplayName(TextStyle.SHORT, Locale.ENGLISH), ym.getYear(),
+                    BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO));
+        }
+        for (Object[] row : fees.join()) {
+            MonthlyCashFlowDto month = monthOf(months, row[0], row[1]);
+            if (month != null) month.setIncome(month.getIncome().add(toBigDecimal(row[6])));
+        }
+        for (Object[] row : salaries.join()) {
+            MonthlyCashFlowDto month = monthOf(months, row[0], row[1]);
+            if (month == null) continue;
+            if ("Paid".equalsIgnoreCase((String) row[2])) {
+                month.setPayrollPaid(month.getPayrollPaid().add(toBigDecimal(row[3])));
+            } else {
+                month.setPayrollPending(month.getPayrollPending().add(toBigDecimal(row[3])));
+            }
+        }
+
+        BigDecimal totalIncome = BigDecimal.ZERO;
+        BigDecimal totalPayrollPaid = BigDecimal.ZERO;
+        BigDecimal totalPayrollPending = BigDecimal.ZERO;
+        for (MonthlyCashFlowDto month : months.values()) {
+            month.setNet(month.getIncome().subtract(month.getPayrollPaid()));
+            totalIncome = totalIncome.add(month.getIncome());
+            totalPayrollPaid = totalPayrollPaid.add(month.getPayrollPaid());
+            totalPayrollPending = totalPayrollPending.add(month.getPayrollPending());
+        }
+
+        CashFlowDto cashFlow = new CashFlowDto();
+        cashFlow.setAcademicYear(startYear + "-" + (startYear + 1));
+        cashFlow.setDateFrom(dateFrom);
+        cashFlow.setDateTo(dateTo);
+        cashFlow.setMonths(new ArrayList<>(months.values()));
+        cashFlow.setTotalIncome(totalIncome);
+        cashFlow.setTotalPayrollPaid(totalPayrollPaid);
+        cashFlow.setTotalPayrollPending(totalPayrollPending);
+        cashFlow.setNet(totalIncome.subtract(totalPayrollPaid));
+        for (String section : List.of("income", "payroll")) {
+            cashFlow.getTimingsMs().put(section, timings.get(section));
+        }
+        cashFlow.setTotalMs((System.nanoTime() - start) / 1_000_000);
+        return cashFlow;
+    }
+
+    // "2024-2025" or "2024-25"; the second year must follow the first
+    private int academicYearStart(String academicYear) {
+        if (academicYear == null || academicYear.isBlank()) {
+            LocalDate today = LocalDate.now();
+            return today.getMonthValue() >= Month.APRIL.getValue() ? today.getYear() : today.getYear() - 1;
+        }
+        Matcher matcher = ACADEMIC_YEAR.matcher(academicYear.trim());
+        if (matcher.matches()) {
+            int first = Integer.parseInt(matcher.group(1));
+            int second = Integer.parseInt(matcher.group(2));
+            if (second == first + 1 || second == (first + 1) % 100) return first;
+        }
+        throw new BadRequestException("Academic year must look like 2024-2025, got: " + academicYear);
+    }
+
+    private MonthlyCashFlowDto monthOf(Map<YearMonth, MonthlyCashFlowDto> months, Object year, Object month) {
+        if (year == null || month == null) return null;
+        return months.get(YearMonth.of(((Number) year).intValue(), ((Number) month).intValue()));
+    }
+
+    private BigDecimal toBigDecimal(Object value) {
+        if (value == null) return BigDecimal.ZERO;
+        if (value instanceof BigDecimal bigDecimal) return bigDecimal;
+        return new BigDecimal(value.toString());
+    }
+}
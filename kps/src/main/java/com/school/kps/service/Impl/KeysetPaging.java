@@ -0,0 +1,114 @@
+package com.school.kps.service.Impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.school.kps.exception.BadRequestException;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Seek pagination over (sortBy, id): the cursor carries the last row's sort value and id, and the
+// next page starts strictly after it, so every page costs the same whatever its depth.
+// Nulls follow MySQL ordering (lowest value: first when ascending, last when descending).
+@Component
+public class KeysetPaging {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public Sort sort(String sortBy, String sortDir) {
+        Sort.Direction direction = ascending(sortDir) ? Sort.Direction.ASC : Sort.Direction.DESC;
+        return "id".equals(sortBy)
+                ? Sort.by(direction, "id")
+                : Sort.by(direction, sortBy).and(Sort.by(direction, "id"));
+    }
+
+    // Rows after the cursor; matches everything when there is no cursor yet
+    public <T> Specification<T> after(String cursor, String sortBy, String sortDir) {
+        if (cursor == null || cursor.isEmpty()) {
+            return (root, query, cb) -> cb.conjunction();
+        }
+
+        JsonNode node = decode(cursor);
+        if (!sortBy.equals(node.path("s").asText()) || !sortDir.equalsIgnoreCase(node.path("d").asText())) {
+            throw new BadRequestException("Cursor was issued for a different sort order");
+        }
+        boolean asc = ascending(sortDir);
+
+        return (root, query, cb) -> {
+            Path<Integer> idPath = root.get("id");
+            Integer lastId = node.path("i").asInt();
+            Predicate idAfter = asc ? cb.greaterThan(idPath, lastId) : cb.lessThan(idPath, lastId);
+            if ("id".equals(sortBy)) {
+                return idAfter;
+            }
+
+            Path<Comparable<Object>> sortPath = path(root, sortBy);
+            JsonNode valueNode = node.get("v");
+            if (valueNode == null || valueNode.isNull()) {
+                // Last row had a null sort value: ascending moves on to the non-null values, descending stays among the nulls
+                Predicate sameNull = cb.and(cb.isNull(sortPath), idAfter);
+                return asc ? cb.or(sameNull, cb.isNotNull(sortPath)) : sameNull;
+            }
+
+            Comparable<Object> value = toComparable(valueNode, sortPath.getJavaType());
+            Predicate tie = cb.and(cb.equal(sortPath, value), idAfter);
+            return asc
+                    ? cb.or(cb.greaterThan(sortPath, value), tie)
+                    : cb.or(cb.lessThan(sortPath, value), tie, cb.isNull(sortPath));
+        };
+    }
+
+    public String cursorFor(Object lastRow, String sortBy, String sortDir) {
+        var row = PropertyAccessorFactory.forBeanPropertyAccess(lastRow);
+        ObjectNode node = this.objectMapper.createObjectNode();
+        node.put("s", sortBy);
+        node.put("d", ascending(sortDir) ? "asc" : "desc");
+        node.set("v", this.objectMapper.valueToTree(row.getPropertyValue(sortBy)));
+        node.set("i", this.objectMapper.valueToTree(row.getPropertyValue("id")));
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(node.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private JsonNode decode(String cursor) {
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(cursor);
+            return this.objectMapper.readTree(json);
+        } catch (Exception e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Comparable<Object> toComparable(JsonNode value, Class<?> javaType) {
+        try {
+            return (Comparable<Object>) this.objectMapper.convertValue(value, javaType);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    // Supports nested sort keys such as student.firstName
+    @SuppressWarnings("unchecked")
+    private <T> Path<Comparable<Object>> path(Root<T> root, String property) {
+        Path<?> path = root;
+        for (String part : property.split("\\.")) {
+            path = path.get(part);
+        }
+        return (Path<Comparable<Object>>) path;
+    }
+
+    private boolean ascending(String sortDir) {
+        return "asc".equalsIgnoreCase(sortDir);
+    }
+}
@@ -0,0 +1,176 @@
+package com.school.kps.service.Impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.school.kps.exception.TooManyRequestsException;
+import com.school.kps.payload.AuthRequest;
+import com.school.kps.payload.LoginStatsDto;
+import com.school.kps.service.LoginServices;
+import com.school.kps.util.JwtUtil;
+import com.school.kps.util.TokenBucket;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+@Service
+public class LoginServicesImpl implements LoginServices {
+
+    // Buckets for clients that stop trying are dropped; a fresh bucket starts full
+    private static final Duration IDLE_BUCKET_EXPIRY = Duration.ofMinutes(30);
+
+    @Autowired
+    private AuthenticationManager authenticationManager;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    @Qualifier("loginExecutor")
+    private ThreadPoolTaskExecutor loginExecutor;
+
+    @Value("${auth.login.ip.burst:20}")
+    private long ipBurst;
+
+    @Value("${auth.login.ip.per-minute:10}")
+    private double ipPerMinute;
+
+    @Value("${auth.login.account-ip.burst:5}")
+    private long accountIpBurst;
+
+    @Value("${auth.login.account-ip.per-minute:2}")
+    private double accountIpPerMinute;
+
+    @Value("${auth.login.account.burst:20}")
+    private long accountBurst;
+
+    @Value("${auth.login.account.per-minute:10}")
+    private double accountPerMinute;
+
+    @Value("${auth.login.max-tracked-clients:100000}")
+    private long maxTrackedClients;
+
+    private Cache<String, TokenBucket> ipBuckets;
+    private Cache<String, TokenBucket> accountIpBuckets;
+    private Cache<String, TokenBucket> accountBuckets;
+
+    private final LongAdder attempts = new LongAdder();
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder throttledByIp = new LongAdder();
+    private final LongAdder throttledByAccount = new LongAdder();
+    private final LongAdder rejectedQueueFull = new LongAdder();
+    private final LongAdder verifyNanos = new LongAdder();
+    private final LongAccumulator maxVerifyNanos = new LongAccumulator(Long::max, 0);
+
+    @PostConstruct
+    void initBuckets() {
+        this.ipBuckets = Caffeine.newBuilder()
+                .maximumSize(this.maxTrackedClients)
+                .expireAfterAccess(IDLE_BUCKET_EXPIRY)
+                .build();
+        this.accountIpBuckets = Caffeine.newBuilder()
+                .maximumSize(this.maxTrackedClients)
+                .expireAfterAccess(IDLE_BUCKET_EXPIRY)
+                .build();
+        this.accountBuckets = Caffeine.newBuilder()
+                .maximumSize(this.maxTrackedClients)
+                .expireAfterAccess(IDLE_BUCKET_EXPIRY)
+                .build();
+    }
+
+    @Override
+    public CompletableFuture<String> login(AuthRequest request, String clientIp) {
+        this.attempts.increment();
+
+        // Both checks are a CAS on the request thread, well before any hashing
+        long ipWait = this.ipBuckets
+                .get(clientIp, ip -> new TokenBucket(this.ipBurst, this.ipPerMinute / 60))
+                .tryAcquire();
+        if (ipWait > 0) {
+            this.throttledByIp.increment();
+            throw new TooManyRequestsException("Too many login attempts from this address",
+                    TokenBucket.retryAfterSeconds(ipWait));
+        }
+        // The tight account+address bucket stops guessing from one place without locking the admin out
+        // elsewhere; the looser account-wide bucket caps guesses spread over many addresses.
+        // Only failed checks are charged: a successful login hands both tokens back.
+        String account = request.getEmail() == null ? "" : request.getEmail().trim().toLowerCase(Locale.ROOT);
+        TokenBucket accountIpBucket = this.accountIpBuckets
+                .get(account + "|" + clientIp, a -> new TokenBucket(this.accountIpBurst, this.accountIpPerMinute / 60));
+        long accountWait = accountIpBucket.tryAcquire();
+        if (accountWait > 0) {
+            this.throttledByAccount.increment();
+            throw new TooManyRequestsException("Too many login attempts for this account",
+                    TokenBucket.retryAfterSeconds(accountWait));
+        }
+        TokenBucket accountBucket = this.accountBuckets
+                .get(account, a -> new TokenBucket(this.accountBurst, this.accountPerMinute / 60));
+        accountWait = accountBucket.tryAcquire();
+        if (accountWait > 0) {
+            accountIpBucket.refund();
+            this.throttledByAccount.increment();
+            throw new TooManyRequestsException("Too many login attempts for this account",
+                    TokenBucket.retryAfterSeconds(accountWait));
+        }
+
+        try {
+            return CompletableFuture.supplyAsync(() -> verify(request, accountIpBucket, accountBucket), this.loginExecutor);
+        } catch (TaskRejectedException e) {
+            this.rejectedQueueFull.increment();
+            accountIpBucket.refund();
+            accountBucket.refund();
+            throw new TooManyRequestsException("Login service is busy, try again shortly", 1);
+        }
+    }
+
+    private String verify(AuthRequest request, TokenBucket accountIpBucket, TokenBucket accountBucket) {
+        long start = System.nanoTime();
+        try {
+            this.authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
+            );
+            this.succeeded.increment();
+            accountIpBucket.refund();
+            accountBucket.refund();
+        } catch (RuntimeException e) {
+            this.failed.increment();
+            throw e;
+        } finally {
+            long nanos = System.nanoTime() - start;
+            this.verifyNanos.add(nanos);
+            this.maxVerifyNanos.accumulate(nanos);
+        }
+        return this.jwtUtil.generateToken(request.getEmail());
+    }
+
+    @Override
+    public LoginStatsDto getLoginStats() {
+        long verified = this.succeeded.sum() + this.failed.sum();
+        double avgVerifyMs = verified == 0 ? 0 : this.verifyNanos.sum() / 1_000_000.0 / verified;
+        return new LoginStatsDto(
+                this.attempts.sum(),
+                this.succeeded.sum(),
+                this.failed.sum(),
+                this.throttledByIp.sum(),
+                this.throttledByAccount.sum(),
+                this.rejectedQueueFull.sum(),
+                this.loginExecutor.getActiveCount(),
+                this.loginExecutor.getThreadPoolExecutor().getQueue().size(),
+                this.loginExecutor.getQueueCapacity(),
+                avgVerifyMs,
+                this.maxVerifyNanos.get() / 1_000_000.0
+        );
+    }
+}
@@ -0,0 +1,32 @@
+package com.school.kps.service.Impl;
+
+import com.school.kps.config.RequestThrottle;
+import com.school.kps.payload.RateLimitGroupStatsDto;
+import com.school.kps.service.RateLimitStatsServices;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+public class RateLimitStatsServicesImpl implements RateLimitStatsServices {
+
+    @Autowired
+    private RequestThrottle requestThrottle;
+
+    @Override
+    public List<RateLimitGroupStatsDto> getGroupStats() {
+        return this.requestThrottle.getGroups().stream()
+                .map(group -> new RateLimitGroupStatsDto(
+                        group.getName(),
+                        group.getMaxConcurrent(),
+                        group.getInFlight(),
+                        group.getPeakInFlight(),
+                        group.getAllowed(),
+                        group.getThrottledByRate(),
+                        group.getRejectedByBulkhead(),
+                        group.getTrackedClients()))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,91 @@
+package com.school.kps.service.Impl;
+
+import com.school.kps.entity.ReceiptSequence;
+import com.school.kps.repository.ReceiptSequenceRepo;
+import com.school.kps.service.ReceiptNumberServices;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Hands out receipt numbers from a block reserved in receipt_sequence, so only one request per
+// block touches the database. Numbers left in a block when the app stops are simply skipped.
+@Service
+public class ReceiptNumberServicesImpl implements ReceiptNumberServices {
+
+    @Autowired
+    private ReceiptSequenceRepo receiptSequenceRepo;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${receipts.block-size:100}")
+    private int blockSize;
+
+    private TransactionTemplate reserveTransaction;
+
+    private volatile Block block = new Block(0, 0);
+
+    @PostConstruct
+    public void init() {
+        // Own transaction: the reservation commits straight away and never holds the row lock
+        // for the rest of the caller's fee insert
+        this.reserveTransaction = new TransactionTemplate(this.transactionManager);
+        this.reserveTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // Never inside the caller's transaction: a refill takes a pooled connection while other callers
+    // wait on the monitor, and if those callers each held a connection the pool could run dry
+    @Override
+    @Transactional(propagation = Propagation.NEVER)
+    public String nextReceiptNumber() {
+        String datePart = LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE);
+        // The counter is global rather than per day, so a number is unique even without the date
+        return String.format("RCP%s%06d", datePart, nextValue());
+    }
+
+    private long nextValue() {
+        while (true) {
+            Block current = this.block;
+            long value = current.next.getAndIncrement();
+            if (value < current.end) return value;
+            refill(current);
+        }
+    }
+
+    private synchronized void refill(Block exhausted) {
+        // Another thread may have refilled while this one waited for the monitor
+        if (this.block != exhausted) return;
+
+        long start = this.reserveTransaction.execute(status -> {
+            ReceiptSequence sequence = this.receiptSequenceRepo.lockForUpdate(ReceiptSequence.ID)
+                    .orElseGet(() -> {
+                        this.receiptSequenceRepo.createIfMissing(ReceiptSequence.ID);
+                        return this.receiptSequenceRepo.lockForUpdate(ReceiptSequence.ID).orElseThrow();
+                    });
+            long first = sequence.getNextValue();
+            sequence.setNextValue(first + this.blockSize);
+            return first;
+        });
+        this.block = new Block(start, start + this.blockSize);
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long end;  // exclusive
+
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
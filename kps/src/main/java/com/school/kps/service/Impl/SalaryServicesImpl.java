@@ -4,18 +4,34 @@ import com.school.kps.entity.Fee;
 import com.school.kps.entity.Salary;
 import com.school.kps.entity.Student;
 import com.school.kps.entity.Teacher;
+import com.school.kps.exception.BadRequestException;
 import com.school.kps.exception.ResourceNotFoundException;
+import com.school.kps.mapper.SalaryMapper;
+import com.school.kps.payload.PayrollLineDto;
+import com.school.kps.payload.PayrollRunDto;
 import com.school.kps.payload.SalaryDto;
+import com.school.kps.payload.SalaryRow;
+import com.school.kps.payload.TeacherDto;
 import com.school.kps.repository.SalaryRepo;
 import com.school.kps.repository.TeacherRepo;
 import com.school.kps.service.SalaryServices;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,18 +45,26 @@ public class SalaryServicesImpl implements SalaryServices {
 
 
     @Autowired
-    private ModelMapper modelMapper;
+    private SalaryMapper salaryMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private static final Set<String> SORTABLE_COLUMNS = Set.of("id", "amount", "paymentDate", "paymentMode", "status");
+
+    // Flush and clear the persistence context every this many payroll rows; JDBC batches are smaller
+    private static final int PAYROLL_FLUSH_ROWS = 500;
 
 
     @Override
     public SalaryDto createSalary(SalaryDto salaryDto, Integer teacherId) {
         Teacher teacher = this.teacherRepo.findById(teacherId).orElseThrow(() -> new ResourceNotFoundException("Teacher", "id", teacherId));
-        Salary salary = this.modelMapper.map(salaryDto, Salary.class);
+        Salary salary = this.salaryMapper.toEntity(salaryDto);
         salary.setTeacher(teacher);
         salary.setPaymentDate(LocalDate.now());
 
         Salary newSalary = this.salaryRepo.save(salary);
-        return this.modelMapper.map(newSalary, SalaryDto.class);
+        return this.salaryMapper.toDto(newSalary);
     }
 
     @Override
@@ -57,13 +81,12 @@ public class SalaryServicesImpl implements SalaryServices {
         salary.setAmount(salaryDto.getAmount());
         salary.setPaymentDate(LocalDate.now());
         Salary newSalary = this.salaryRepo.save(salary);
-        return this.modelMapper.map(newSalary, SalaryDto.class);
+        return this.salaryMapper.toDto(newSalary);
     }
 
     @Override
     public List<SalaryDto> getAllSalaries() {
-        List<Salary> salaries = this.salaryRepo.findAll();
-        return salaries.stream().map(sal -> this.modelMapper.map(sal, SalaryDto.class)).collect(Collectors.toList());
+        return toDtos(this.salaryRepo.findAllRows());
 
     }
 
@@ -71,33 +94,140 @@ public class SalaryServicesImpl implements SalaryServices {
     public SalaryDto deleteSalary(Integer id) {
         Salary salary = this.salaryRepo.findById(id).orElseThrow(() -> new ResourceNotFoundException("Salary", "id", id));
         this.salaryRepo.delete(salary);
-        return this.modelMapper.map(salary, SalaryDto.class);
+        return this.salaryMapper.toDto(salary);
     }
 
     @Override
     public List<SalaryDto> findSalaryByTeacherName(String name) {
-        List<Salary> salarys = this.salaryRepo.findByTeacherName(name);
-        return salarys.stream().map(sal -> this.modelMapper.map(sal, SalaryDto.class)).collect(Collectors.toList());
+        return toDtos(this.salaryRepo.findRowsByTeacherName(name));
     }
 
     @Override
     public List<SalaryDto> findSalaryByStatus(String status) {
-        List<Salary> salary = this.salaryRepo.findByStatus(status);
-        return salary.stream().map(sal -> this.modelMapper.map(sal, SalaryDto.class)).collect(Collectors.toList());
+        return toDtos(this.salaryRepo.findRowsByStatus(status));
 
     }
 
 
     @Override
-    public List<SalaryDto> getSalariesByTeacherId(Integer teacherId) {
+    public Page<SalaryDto> getSalaries(int pageNumber, int pageSize, String sortBy, String sortDir,
+                                       String status, LocalDate dateFrom, LocalDate dateTo) {
+        if (!SORTABLE_COLUMNS.contains(sortBy)) {
+            throw new BadRequestException("Cannot sort salaries by " + sortBy);
+        }
+        Sort sort = sortDir.equalsIgnoreCase("asc") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
+        // id as tie-breaker so rows with equal sort values do not move between pages
+        if (!"id".equals(sortBy)) sort = sort.and(Sort.by("id"));
+        Pageable pageable = PageRequest.of(pageNumber, pageSize, sort);
+        return this.salaryRepo.findRowsByFilters(emptyToNull(status), dateFrom, dateTo, pageable).map(this::toDto);
+    }
 
-        return List.of();
+    private String emptyToNull(String value) {
+        return value != null && !value.isEmpty() ? value : null;
+    }
+
+    // The nested teacher carries only the columns selected into SalaryRow
+    private List<SalaryDto> toDtos(List<SalaryRow> rows) {
+        List<SalaryDto> dtos = new ArrayList<>(rows.size());
+        for (SalaryRow row : rows) dtos.add(toDto(row));
+        return dtos;
+    }
+
+    private SalaryDto toDto(SalaryRow row) {
+        TeacherDto teacher = null;
+        if (row.teacherId() != null) {
+            teacher = new TeacherDto();
+            teacher.setId(row.teacherId().intValue());
+            teacher.setName(row.teacherName());
+            teacher.setFirstName(row.teacherFirstName());
+            teacher.setLastName(row.teacherLastName());
+            teacher.setSubject(row.teacherSubject());
+            teacher.setStatus(null);  // not selected; do not report the DTO default
+        }
+        return new SalaryDto(row.id(), row.amount(), row.paymentDate(), row.paymentMode(),
+                row.status(), row.remarks(), row.payPeriod(), teacher);
+    }
+
+    @Override
+    public List<SalaryDto> getSalariesByTeacherId(Integer teacherId) {
+        if (!this.teacherRepo.existsById(teacherId)) throw new ResourceNotFoundException("Teacher", "id", teacherId);
+        return toDtos(this.salaryRepo.findRowsByTeacherId(teacherId.longValue()));
     }
 
     @Override
     public SalaryDto getSalaryById(Integer id) {
         Salary salary = this.salaryRepo.findById(id).orElseThrow(() -> new ResourceNotFoundException("Salary", "id", id));
-        return this.modelMapper.map(salary, SalaryDto.class);
+        return this.salaryMapper.toDto(salary);
+
+    }
+
+    // One row per active teacher for the month, all in this transaction. Teachers that already have a row
+    // for the period are skipped, so re-running is safe; uk_salary_teacher_period backs that up against
+    // two runs racing each other (the loser rolls back whole).
+    @Override
+    @Transactional
+    public PayrollRunDto runPayroll(String payPeriod, boolean dryRun, String paymentMode) {
+        YearMonth period;
+        try {
+            period = YearMonth.parse(payPeriod);
+        } catch (DateTimeParseException | NullPointerException e) {
+            throw new BadRequestException("Pay period must be yyyy-MM, got: " + payPeriod);
+        }
+        String periodKey = period.toString();
+
+        long started = System.nanoTime();
+        List<Object[]> teachers = this.teacherRepo.findActivePayroll();
+        Set<Long> alreadyPaid = this.salaryRepo.findTeacherIdsByPayPeriod(periodKey);
+        long loaded = System.nanoTime();
+
+        List<PayrollLineDto> lines = new ArrayList<>(teachers.size());
+        List<Salary> batch = new ArrayList<>();
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        int created = 0;
+        for (Object[] row : teachers) {
+            // id, name, salary
+            Long teacherId = (Long) row[0];
+            String teacherName = (String) row[1];
+            BigDecimal amount = (BigDecimal) row[2];
+
+            if (alreadyPaid.contains(teacherId)) {
+                lines.add(new PayrollLineDto(teacherId, teacherName, amount, null, "ALREADY_PAID"));
+                continue;
+            }
+            if (amount == null || amount.signum() <= 0) {
+                lines.add(new PayrollLineDto(teacherId, teacherName, amount, null, "NO_SALARY"));
+                continue;
+            }
+            created++;
+            totalAmount = totalAmount.add(amount);
+            if (dryRun) {
+                lines.add(new PayrollLineDto(teacherId, teacherName, amount, null, "WOULD_CREATE"));
+                continue;
+            }
+
+            Salary salary = new Salary();
+            salary.setAmount(amount);
+            salary.setPaymentDate(period.atEndOfMonth());
+            salary.setPaymentMode(paymentMode);
+            salary.setStatus("Pending");
+            salary.setRemarks("Payroll " + periodKey);
+            salary.setPayPeriod(periodKey);
+            // Reference only: the teacher row is never selected again
+            salary.setTeacher(this.entityManager.getReference(Teacher.class, teacherId));
+            this.entityManager.persist(salary);
+            batch.add(salary);
+            lines.add(new PayrollLineDto(teacherId, teacherName, amount, salary.getId(), "CREATED"));
+
+            if (batch.size() == PAYROLL_FLUSH_ROWS) {
+                this.entityManager.flush();
+                this.entityManager.clear();
+                batch.clear();
+            }
+        }
+        if (!dryRun) this.entityManager.flush();
+        long inserted = System.nanoTime();
 
+        return new PayrollRunDto(periodKey, dryRun, teachers.size(), created, teachers.size() - created, totalAmount,
+                (loaded - started) / 1_000_000, dryRun ? 0 : (inserted - loaded) / 1_000_000, lines);
     }
 }
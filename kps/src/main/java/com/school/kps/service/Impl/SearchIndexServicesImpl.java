@@ -0,0 +1,169 @@
+package com.school.kps.service.Impl;
+
+import com.school.kps.entity.Fee;
+import com.school.kps.entity.Student;
+import com.school.kps.repository.FeeRepo;
+import com.school.kps.repository.StudentRepo;
+import com.school.kps.service.SearchIndexServices;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+@Service
+public class SearchIndexServicesImpl implements SearchIndexServices {
+
+    @Autowired
+    private StudentRepo studentRepo;
+
+    @Autowired
+    private FeeRepo feeRepo;
+
+    // Above this many matches an IN list stops beating the scan, so callers fall back to LIKE
+    @Value("${search.index.max-candidates:1000}")
+    private int maxCandidates;
+
+    // The index only sees this instance's commits between rebuilds; with several instances writing
+    // to one database turn it off and every search uses LIKE
+    @Value("${search.index.enabled:true}")
+    private boolean enabled;
+
+    // null until the first rebuild completes, so early searches fall back to LIKE instead of "no results"
+    private volatile Indexes indexes;
+
+    // Changes that commit while a rebuild is reading its snapshot; replayed onto the new index before
+    // the swap so they are not lost with the old one. Guarded by swapLock, null when no rebuild runs.
+    private final Object swapLock = new Object();
+    private List<Consumer<Indexes>> pending;
+
+    @Override
+    public Set<Integer> matchStudents(String search) {
+        Indexes current = this.indexes;
+        return current == null ? null : current.students.search(search, this.maxCandidates);
+    }
+
+    @Override
+    public Set<Integer> matchStudentNames(String search) {
+        Indexes current = this.indexes;
+        return current == null ? null : current.studentNames.search(search, this.maxCandidates);
+    }
+
+    @Override
+    public Set<Integer> matchReceipts(String search) {
+        Indexes current = this.indexes;
+        return current == null ? null : current.receipts.search(search, this.maxCandidates);
+    }
+
+    @Override
+    public void studentSaved(Student student) {
+        Integer id = student.getId();
+        String firstName = student.getFirstName();
+        String lastName = student.getLastName();
+        String guardianName = student.getGuardianName();
+        String guardianPhone = student.getGuardianPhone();
+        afterCommit(index -> {
+            index.students.put(id, firstName, lastName, guardianName, guardianPhone);
+            index.studentNames.put(id, firstName, lastName);
+        });
+    }
+
+    @Override
+    public void studentDeleted(Student student) {
+        Integer id = student.getId();
+        afterCommit(index -> {
+            index.students.remove(id);
+            index.studentNames.remove(id);
+        });
+    }
+
+    @Override
+    public void feesSaved(Collection<Fee> fees) {
+        List<Object[]> rows = fees.stream().map(f -> new Object[]{f.getId(), f.getReceiptNumber()}).toList();
+        afterCommit(index -> rows.forEach(row -> index.receipts.put((Integer) row[0], (String) row[1])));
+    }
+
+    @Override
+    public void feesDeleted(Collection<Fee> fees) {
+        List<Integer> ids = fees.stream().map(Fee::getId).toList();
+        afterCommit(index -> ids.forEach(index.receipts::remove));
+    }
+
+    // Only committed data goes into the index; outside a transaction the change is applied straight away
+    private void afterCommit(Consumer<Indexes> change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(change);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(change);
+            }
+        });
+    }
+
+    private void apply(Consumer<Indexes> change) {
+        synchronized (this.swapLock) {
+            Indexes current = this.indexes;
+            if (current != null) change.accept(current);
+            if (this.pending != null) this.pending.add(change);
+        }
+    }
+
+    // Full rebuild picks up writes made outside this instance (e.g. manual SQL); the new index is swapped in whole
+    @Override
+    @Scheduled(fixedDelayString = "${search.index.rebuild-interval:PT10M}",
+            initialDelayString = "${search.index.rebuild-interval:PT10M}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        if (!this.enabled) return;
+        // Start recording before the snapshot is read: anything committed earlier is in the snapshot,
+        // anything later is replayed below
+        synchronized (this.swapLock) {
+            this.pending = new ArrayList<>();
+        }
+        try {
+            Indexes rebuilt = new Indexes();
+            for (Object[] row : this.studentRepo.findSearchFields()) {
+                Integer id = (Integer) row[0];
+                rebuilt.students.put(id, (String) row[1], (String) row[2], (String) row[3], (String) row[4]);
+                rebuilt.studentNames.put(id, (String) row[1], (String) row[2]);
+            }
+            for (Object[] row : this.feeRepo.findReceiptNumbers()) {
+                rebuilt.receipts.put((Integer) row[0], (String) row[1]);
+            }
+
+            synchronized (this.swapLock) {
+                this.pending.forEach(change -> change.accept(rebuilt));
+                this.indexes = rebuilt;
+            }
+        } finally {
+            synchronized (this.swapLock) {
+                this.pending = null;
+            }
+        }
+    }
+
+    private static class Indexes {
+        final TrigramIndex students = new TrigramIndex();
+        final TrigramIndex studentNames = new TrigramIndex();
+        final TrigramIndex receipts = new TrigramIndex();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void initialize() {
+        rebuild();
+    }
+}
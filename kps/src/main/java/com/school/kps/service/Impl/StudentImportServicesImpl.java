@@ -0,0 +1,308 @@
+package com.school.kps.service.Impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.school.kps.entity.Student;
+import com.school.kps.exception.BadRequestException;
+import com.school.kps.mapper.StudentMapper;
+import com.school.kps.payload.StudentDto;
+import com.school.kps.payload.StudentImportErrorDto;
+import com.school.kps.payload.StudentImportResponseDto;
+import com.school.kps.service.EnrollmentCounterServices;
+import com.school.kps.service.SearchIndexServices;
+import com.school.kps.service.StudentImportServices;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.stream.Collectors;
+
+// Nothing but the current chunk and the (capped) error list is held in memory, so file size does not matter.
+// Each chunk commits on its own: a failed chunk is reported row by row and the import carries on.
+@Service
+public class StudentImportServicesImpl implements StudentImportServices {
+
+    // CSV header names, matched case-insensitively; admissionDate is optional and defaults to today
+    private static final List<String> CSV_COLUMNS = List.of(
+            "firstName", "lastName", "gender", "className", "dob", "address",
+            "phone", "aadhaarNumber", "guardianName", "guardianPhone");
+
+    // Rows per transaction; JDBC batches (hibernate.jdbc.batch_size) are smaller
+    private static final int IMPORT_CHUNK_ROWS = 500;
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    // Longest CSV record kept in memory; an unclosed quote would otherwise buffer the rest of the file
+    static final int MAX_CSV_RECORD_CHARS = 64 * 1024;
+
+    @Autowired
+    private StudentMapper studentMapper;
+
+    @Autowired
+    private SearchIndexServices searchIndexServices;
+
+    @Autowired
+    private EnrollmentCounterServices enrollmentCounterServices;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private TransactionTemplate chunkTransaction;
+
+    @PostConstruct
+    public void init() {
+        this.chunkTransaction = new TransactionTemplate(this.transactionManager);
+    }
+
+    @Override
+    @CacheEvict(cacheNames = {"studentStats", "classDistribution"}, allEntries = true)
+    public StudentImportResponseDto importStudents(InputStream in, String format) throws IOException {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (!csv && !"ndjson".equalsIgnoreCase(format)) {
+            throw new BadRequestException("Unsupported import format: " + format);
+        }
+
+        long started = System.nanoTime();
+        Report report = new Report();
+        LocalDate today = LocalDate.now();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+
+        Map<String, Integer> header = null;
+        if (csv) {
+            List<String> headerRecord;
+            try {
+                headerRecord = readCsvRecord(reader);
+            } catch (CsvRecordTooLongException e) {
+                throw new BadRequestException("Import header: " + e.getMessage());
+            }
+            if (headerRecord == null) {
+                throw new BadRequestException("Import file is empty");
+            }
+            header = csvHeader(headerRecord);
+        }
+
+        List<Student> chunk = new ArrayList<>(IMPORT_CHUNK_ROWS);
+        List<Long> chunkRows = new ArrayList<>(IMPORT_CHUNK_ROWS);
+        long row = 0;
+        while (true) {
+            StudentDto studentDto;
+            if (csv) {
+                List<String> record;
+                try {
+                    record = readCsvRecord(reader);
+                } catch (CsvRecordTooLongException e) {
+                    report.fail(++row, e.getMessage());
+                    continue;
+                }
+                if (record == null) break;
+                if (record.size() == 1 && record.get(0).isBlank()) continue;
+                row++;
+                try {
+                    studentDto = fromCsv(record, header);
+                } catch (DateTimeParseException e) {
+                    report.fail(row, "Invalid date '" + e.getParsedString() + "', expected yyyy-MM-dd");
+                    continue;
+                }
+            } else {
+                String line = reader.readLine();
+                if (line == null) break;
+                if (line.isBlank()) continue;
+                row++;
+                try {
+                    studentDto = this.objectMapper.readValue(line, StudentDto.class);
+                } catch (JsonProcessingException e) {
+                    report.fail(row, "Malformed JSON: " + e.getOriginalMessage());
+                    continue;
+                }
+            }
+
+            String error = prepare(studentDto, today);
+            if (error != null) {
+                report.fail(row, error);
+                continue;
+            }
+            chunk.add(newStudent(studentDto, today));
+            chunkRows.add(row);
+            if (chunk.size() == IMPORT_CHUNK_ROWS) {
+                insertChunk(chunk, chunkRows, report);
+                chunk.clear();
+                chunkRows.clear();
+            }
+        }
+        if (!chunk.isEmpty()) insertChunk(chunk, chunkRows, report);
+
+        long elapsedMs = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        return new StudentImportResponseDto(row, report.created, report.failed, elapsedMs,
+                row * 1000 / elapsedMs, report.failed > report.errors.size(), report.errors);
+    }
+
+    // Same derived fields as createStudent: age from dob, admission date today unless the file has one
+    private String prepare(StudentDto studentDto, LocalDate today) {
+        if (studentDto == null) {
+            return "Student record is empty";
+        }
+        if (studentDto.getDob() != null) {
+            if (studentDto.getDob().isAfter(today)) {
+                return "dob: Date of birth is in the future";
+            }
+            studentDto.setAge(Period.between(studentDto.getDob(), today).getYears());
+        }
+        Set<ConstraintViolation<StudentDto>> violations = this.validator.validate(studentDto);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        return null;
+    }
+
+    private Student newStudent(StudentDto studentDto, LocalDate today) {
+        Student student = this.studentMapper.toEntity(studentDto);
+        if (student.getAdmissionDate() == null) student.setAdmissionDate(today);
+        return student;
+    }
+
+    private void insertChunk(List<Student> chunk, List<Long> chunkRows, Report report) {
+        try {
+            this.chunkTransaction.executeWithoutResult(status -> {
+                chunk.forEach(this.entityManager::persist);
+                this.entityManager.flush();
+                this.enrollmentCounterServices.studentsAdmitted(chunk);
+                chunk.forEach(this.searchIndexServices::studentSaved);
+                this.entityManager.clear();
+            });
+            report.created += chunk.size();
+        } catch (RuntimeException e) {
+            String message = "Not saved, chunk rolled back: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            chunkRows.forEach(row -> report.fail(row, message));
+        }
+    }
+
+    private Map<String, Integer> csvHeader(List<String> headerRecord) {
+        Map<String, Integer> byName = new HashMap<>();
+        for (int i = 0; i < headerRecord.size(); i++) {
+            byName.put(headerRecord.get(i).trim().toLowerCase(), i);
+        }
+        List<String> missing = CSV_COLUMNS.stream()
+                .filter(column -> !byName.containsKey(column.toLowerCase()))
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new BadRequestException("Import header is missing columns: " + String.join(", ", missing));
+        }
+        return byName;
+    }
+
+    private StudentDto fromCsv(List<String> record, Map<String, Integer> header) {
+        StudentDto studentDto = new StudentDto();
+        studentDto.setFirstName(csvValue(record, header, "firstname"));
+        studentDto.setLastName(csvValue(record, header, "lastname"));
+        studentDto.setGender(csvValue(record, header, "gender"));
+        studentDto.setClassName(csvValue(record, header, "classname"));
+        studentDto.setAddress(csvValue(record, header, "address"));
+        studentDto.setPhone(csvValue(record, header, "phone"));
+        studentDto.setAadhaarNumber(csvValue(record, header, "aadhaarnumber"));
+        studentDto.setGuardianName(csvValue(record, header, "guardianname"));
+        studentDto.setGuardianPhone(csvValue(record, header, "guardianphone"));
+        String dob = csvValue(record, header, "dob");
+        if (dob != null) studentDto.setDob(LocalDate.parse(dob));
+        String admissionDate = csvValue(record, header, "admissiondate");
+        if (admissionDate != null) studentDto.setAdmissionDate(LocalDate.parse(admissionDate));
+        return studentDto;
+    }
+
+    private String csvValue(List<String> record, Map<String, Integer> header, String column) {
+        Integer index = header.get(column);
+        if (index == null || index >= record.size()) return null;
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    // One RFC 4180 record: quoted fields may hold commas, doubled quotes and line breaks. Null at end of input.
+    // A record over MAX_CSV_RECORD_CHARS is dropped up to the next line break and reported instead.
+    private List<String> readCsvRecord(BufferedReader reader) throws IOException {
+        int c = reader.read();
+        if (c == -1) return null;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int length = 0;
+        while (c != -1) {
+            if (++length > MAX_CSV_RECORD_CHARS) {
+                while (c != -1 && c != '\n') c = reader.read();
+                throw new CsvRecordTooLongException(quoted);
+            }
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        reader.reset();
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    static class CsvRecordTooLongException extends RuntimeException {
+        CsvRecordTooLongException(boolean inQuotes) {
+            super("Record is longer than " + MAX_CSV_RECORD_CHARS + " characters"
+                    + (inQuotes ? " (unclosed quote?)" : "") + "; skipped to the next line");
+        }
+    }
+
+    private static class Report {
+        long created;
+        long failed;
+        final List<StudentImportErrorDto> errors = new ArrayList<>();
+
+        void fail(long row, String message) {
+            this.failed++;
+            if (this.errors.size() < MAX_REPORTED_ERRORS) this.errors.add(new StudentImportErrorDto(row, message));
+        }
+    }
+}
@@ -1,19 +1,38 @@
 package com.school.kps.service.Impl;
 
+import com.school.kps.entity.Fee;
 import com.school.kps.entity.Student;
+import com.school.kps.exception.BadRequestException;
 import com.school.kps.exception.ResourceNotFoundException;
+import com.school.kps.mapper.FeeMapper;
+import com.school.kps.mapper.StudentMapper;
+import com.school.kps.payload.CursorPageDto;
 import com.school.kps.payload.EnrollmentByMonth;
+import com.school.kps.payload.EnrollmentYearDto;
+import com.school.kps.payload.FeeDto;
+import com.school.kps.payload.SlicePageDto;
 import com.school.kps.payload.StudentDto;
+import com.school.kps.payload.StudentProfileDto;
+import com.school.kps.payload.StudentRow;
 import com.school.kps.repository.StudentRepo;
+import com.school.kps.service.EnrollmentCounterServices;
+import com.school.kps.service.FeeAggregateServices;
+import com.school.kps.service.FeeRollupServices;
+import com.school.kps.service.SearchIndexServices;
 import com.school.kps.service.StudentServices;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.interceptor.SimpleKey;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 
 import jakarta.persistence.criteria.Predicate;
@@ -23,6 +42,7 @@ import java.time.format.TextStyle;
 import java.util.ArrayList;
 import java.util.List;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.Period;
 import java.util.*;
@@ -35,11 +55,39 @@ public class StudentServicesImpl implements StudentServices {
     private StudentRepo studentRepo;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private StudentMapper studentMapper;
+
+    @Autowired
+    private FeeMapper feeMapper;
+
+    @Autowired
+    private KeysetPaging keysetPaging;
+
+    @Autowired
+    private SliceQueries sliceQueries;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private FeeAggregateServices feeAggregateServices;
+
+    @Autowired
+    private FeeRollupServices feeRollupServices;
+
+    @Autowired
+    private SearchIndexServices searchIndexServices;
+
+    @Autowired
+    private EnrollmentCounterServices enrollmentCounterServices;
+
+    private static final int MAX_COMPARED_YEARS = 20;
 
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = {"studentStats", "classDistribution"}, allEntries = true)
     public StudentDto createStudent(StudentDto studentDto) {
-        Student newStudent = this.modelMapper.map(studentDto, Student.class);
+        Student newStudent = this.studentMapper.toEntity(studentDto);
 
         LocalDate currdate = LocalDate.now();
         System.out.println("Current date: " + currdate);
@@ -48,38 +96,91 @@ public class StudentServicesImpl implements StudentServices {
         int age = Period.between(birthDate, currdate).getYears();
          newStudent.setAge(age);
         Student savedStudent = this.studentRepo.save(newStudent);
-        return this.modelMapper.map(savedStudent, StudentDto.class);
+        this.enrollmentCounterServices.studentAdmitted(savedStudent.getAdmissionDate());
+        this.searchIndexServices.studentSaved(savedStudent);
+        return this.studentMapper.toDto(savedStudent);
     }
 
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = {"studentStats", "classDistribution"}, allEntries = true)
     public StudentDto updateStudent(StudentDto studentDto, Integer id) {
         Student student = this.studentRepo.findById(id).orElseThrow(() -> new ResourceNotFoundException("Student", "Student_Id", id));
+        // The daily fee rollup is keyed by class, so move this student's closed-day fees to the new class
+        boolean classChanged = !Objects.equals(student.getClassName(), studentDto.getClassName());
+        if (classChanged) student.getFees().forEach(this.feeRollupServices::feeRemoved);
         student.setFirstName(studentDto.getFirstName());
         student.setLastName(studentDto.getLastName());
         student.setClassName(studentDto.getClassName());
+        if (classChanged) student.getFees().forEach(this.feeRollupServices::feeAdded);
         student.setDob(studentDto.getDob());
         student.setAddress(studentDto.getAddress());
         student.setPhone(studentDto.getPhone());
         student.setAadhaarNumber(studentDto.getAadhaarNumber());
         student.setGuardianName(studentDto.getGuardianName());
         student.setGuardianPhone(studentDto.getGuardianPhone());
-        student.setAdmissionDate(LocalDate.now());
+        // Admission date is kept on edits; a supplied date is a correction and moves the enrollment count
+        if (studentDto.getAdmissionDate() != null && !studentDto.getAdmissionDate().equals(student.getAdmissionDate())) {
+            this.enrollmentCounterServices.studentWithdrawn(student.getAdmissionDate());
+            this.enrollmentCounterServices.studentAdmitted(studentDto.getAdmissionDate());
+            student.setAdmissionDate(studentDto.getAdmissionDate());
+        }
         Student updateStudent = this.studentRepo.save(student);
-        return this.modelMapper.map(updateStudent, StudentDto.class);
+        this.searchIndexServices.studentSaved(updateStudent);
+        return this.studentMapper.toDto(updateStudent);
 
     }
 
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = {"studentStats", "classDistribution"}, allEntries = true)
     public StudentDto deleteStudent(Integer id) {
         Student student = this.studentRepo.findById(id).orElseThrow(() -> new ResourceNotFoundException("Student", "Student_Id", id));
+        // Fees are cascade-deleted with the student, so take them out of the fee totals too
+        student.getFees().forEach(this.feeAggregateServices::feeRemoved);
+        student.getFees().forEach(this.feeRollupServices::feeRemoved);
         this.studentRepo.deleteById(id);
-        return this.modelMapper.map(student, StudentDto.class);
+        this.enrollmentCounterServices.studentWithdrawn(student.getAdmissionDate());
+        this.searchIndexServices.studentDeleted(student);
+        this.searchIndexServices.feesDeleted(student.getFees());
+        return this.studentMapper.toDto(student);
     }
 
     @Override
     public StudentDto findStudentById(Integer id) {
         Student student = this.studentRepo.findById(id).orElseThrow(() -> new ResourceNotFoundException("Student", "Student_Id", id));
-        return this.modelMapper.map(student, StudentDto.class);
+        return this.studentMapper.toDto(student);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public StudentProfileDto getStudentProfile(Integer id) {
+        Student student = this.studentRepo.findWithFeesById(id).orElseThrow(() -> new ResourceNotFoundException("Student", "Student_Id", id));
+
+        // Latest payment first; unpaid fees (no payment date) last
+        List<Fee> fees = new ArrayList<>(student.getFees());
+        fees.sort(Comparator.comparing(Fee::getPaymentDate, Comparator.nullsFirst(Comparator.<LocalDate>naturalOrder()))
+                .thenComparing(Fee::getId, Comparator.nullsFirst(Comparator.<Integer>naturalOrder()))
+                .reversed());
+
+        // Totals, per-year payments and the latest receipt in the same pass that builds the rows
+        List<FeeDto> feeDtos = new ArrayList<>(fees.size());
+        BigDecimal totalDue = BigDecimal.ZERO;
+        BigDecimal totalPaid = BigDecimal.ZERO;
+        Map<String, BigDecimal> paidByAcademicYear = new TreeMap<>();
+        FeeDto latestReceipt = null;
+        for (Fee fee : fees) {
+            FeeDto feeDto = this.feeMapper.toDtoWithoutStudent(fee);
+            feeDtos.add(feeDto);
+            BigDecimal paid = fee.getAmountPaid() != null ? fee.getAmountPaid() : BigDecimal.ZERO;
+            if (fee.getDueAmount() != null) totalDue = totalDue.add(fee.getDueAmount());
+            totalPaid = totalPaid.add(paid);
+            paidByAcademicYear.merge(fee.getAcademicYear(), paid, BigDecimal::add);
+            if (latestReceipt == null && fee.getReceiptNumber() != null && paid.signum() > 0) latestReceipt = feeDto;
+        }
+
+        return new StudentProfileDto(this.studentMapper.toDto(student), feeDtos, totalDue, totalPaid,
+                paidByAcademicYear, latestReceipt);
     }
 
     @Override
@@ -98,11 +199,85 @@ public class StudentServicesImpl implements StudentServices {
                 : Sort.by(sortBy).descending();
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        Specification<Student> spec = (root, query, cb) -> {
+        Specification<Student> spec = studentFilter(search, className, gender, location);
+
+        Page<Student> studentPage = studentRepo.findAll(spec, pageable);
+        return studentPage.map(student -> studentMapper.toDto(student));
+    }
+
+    @Override
+    public CursorPageDto<StudentDto> findStudentsAfter(
+            String cursor,
+            Integer size,
+            String sortBy,
+            String sortDir,
+            String search,
+            String className,
+            String gender,
+            String location) {
+
+        Specification<Student> spec = studentFilter(search, className, gender, location)
+                .and(this.keysetPaging.after(cursor, sortBy, sortDir));
+
+        // One extra row tells us whether another page exists without a COUNT
+        List<Student> students = this.studentRepo.findBy(spec, q -> q
+                .sortBy(this.keysetPaging.sort(sortBy, sortDir))
+                .limit(size + 1)
+                .all());
+
+        boolean hasNext = students.size() > size;
+        if (hasNext) students = students.subList(0, size);
+        String nextCursor = hasNext ? this.keysetPaging.cursorFor(students.get(students.size() - 1), sortBy, sortDir) : null;
+
+        List<StudentDto> studentDtos = students.stream()
+                .map(student -> studentMapper.toDto(student))
+                .toList();
+        return new CursorPageDto<>(studentDtos, studentDtos.size(), hasNext, nextCursor);
+    }
+
+    @Override
+    public SlicePageDto<StudentDto> findStudentsSlice(
+            Integer page,
+            Integer size,
+            String sortBy,
+            String sortDir,
+            String search,
+            String className,
+            String gender,
+            String location,
+            boolean approximateCount) {
+
+        Sort sort = sortDir.equalsIgnoreCase("asc")
+                ? Sort.by(sortBy).ascending()
+                : Sort.by(sortBy).descending();
+        Pageable pageable = PageRequest.of(page, size, sort);
+        Specification<Student> spec = studentFilter(search, className, gender, location);
+
+        Slice<Student> studentSlice = this.sliceQueries.findSlice(Student.class, spec, pageable);
+        List<StudentDto> studentDtos = studentSlice.getContent().stream()
+                .map(student -> studentMapper.toDto(student))
+                .toList();
+
+        Long total = null;
+        if (approximateCount) {
+            // Shared by every page of the same filter until the entry expires
+            SimpleKey key = new SimpleKey(search, className, gender, location);
+            total = this.cacheManager.getCache("studentCounts").get(key, () -> this.studentRepo.count(spec));
+        }
+        return new SlicePageDto<>(studentDtos, page, size, studentSlice.hasNext(), total);
+    }
+
+    private Specification<Student> studentFilter(String search, String className, String gender, String location) {
+        // Trigram index narrows the search to candidate ids; null means it cannot, so use LIKE
+        Set<Integer> candidates = search != null && !search.isEmpty() ? this.searchIndexServices.matchStudents(search) : null;
+
+        return (root, query, cb) -> {
             List<Predicate> predicates = new ArrayList<>();
 
             // 🔍 Search across multiple fields
-            if (search != null && !search.isEmpty()) {
+            if (candidates != null) {
+                predicates.add(candidates.isEmpty() ? cb.disjunction() : root.get("id").in(candidates));
+            } else if (search != null && !search.isEmpty()) {
                 String likeSearch = "%" + search.toLowerCase() + "%";
                 predicates.add(cb.or(
                         cb.like(cb.lower(root.get("firstName")), likeSearch),
@@ -129,9 +304,6 @@ public class StudentServicesImpl implements StudentServices {
 
             return cb.and(predicates.toArray(new Predicate[0]));
         };
-
-        Page<Student> studentPage = studentRepo.findAll(spec, pageable);
-        return studentPage.map(student -> modelMapper.map(student, StudentDto.class));
     }
 
 
@@ -139,29 +311,50 @@ public class StudentServicesImpl implements StudentServices {
     @Override
     public List<StudentDto> getStudentsByName(String firstName) {
         List<Student> students = this.studentRepo.findByFirstNameIgnoreCase(firstName);
-        List<StudentDto> studentDtos = students.stream().map(student -> this.modelMapper.map(student, StudentDto.class)).collect(Collectors.toList());
+        List<StudentDto> studentDtos = students.stream().map(student -> this.studentMapper.toDto(student)).collect(Collectors.toList());
         return studentDtos;
     }
 
     @Override
     public List<StudentDto> getStudentsByClassName(String className) {
-        List<Student> students = this.studentRepo.findByClassNameContainingIgnoreCase(className);
-        List<StudentDto> studentDtos = students.stream().map(student -> this.modelMapper.map(student, StudentDto.class)).collect(Collectors.toList());
+        List<StudentRow> rows = this.studentRepo.findRowsByClassNameContaining(className);
+        List<StudentDto> studentDtos = new ArrayList<>(rows.size());
+        for (StudentRow row : rows) {
+            StudentDto studentDto = new StudentDto();
+            studentDto.setId(row.id());
+            studentDto.setFirstName(row.firstName());
+            studentDto.setLastName(row.lastName());
+            studentDto.setGender(row.gender());
+            studentDto.setClassName(row.className());
+            studentDto.setDob(row.dob());
+            studentDto.setAge(row.age());
+            studentDto.setAddress(row.address());
+            studentDto.setPhone(row.phone());
+            studentDto.setAadhaarNumber(row.aadhaarNumber());
+            studentDto.setGuardianName(row.guardianName());
+            studentDto.setGuardianPhone(row.guardianPhone());
+            studentDto.setAdmissionDate(row.admissionDate());
+            studentDtos.add(studentDto);
+        }
         return studentDtos;
     }
 
     @Override
+    @Cacheable("studentStats")
     public Map<String, Long> getStudentStats() {
-        long total = this.studentRepo.countTotalStudents();
-        long male = this.studentRepo.countMaleStudents();
-        long female =this.studentRepo.countFemaleStudents();
+        Object[] row = this.studentRepo.countByGender().get(0);
 
         Map<String, Long> stats = new HashMap<>();
-        stats.put("totalStudents", total);
-        stats.put("maleStudents", male);
-        stats.put("femaleStudents", female);
+        stats.put("totalStudents", toLong(row[0]));
+        stats.put("maleStudents", toLong(row[1]));
+        stats.put("femaleStudents", toLong(row[2]));
 
-        return stats;
+        return Collections.unmodifiableMap(stats);
+    }
+
+    // SUM over no rows is null
+    private long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
     }
 
     @Override
@@ -183,47 +376,56 @@ public class StudentServicesImpl implements StudentServices {
 //        // If only name is provided
 //        if (name != null && !name.isEmpty() && (className == null || className.isEmpty())) {
 //            return this.studentRepo.findByFirstNameContainingIgnoreCase(name)
-//                    .stream().map(student -> this.modelMapper.map(student, StudentDto.class)).toList();
+//                    .stream().map(student -> this.studentMapper.toDto(student)).toList();
 //        }
 //
 //        // If only className is provided
 //        if ((name == null || name.isEmpty()) && className != null && !className.isEmpty()) {
 //            return this.studentRepo.findByClassNameContainingIgnoreCase(className)
-//                    .stream().map(student -> this.modelMapper.map(student, StudentDto.class)).toList();
+//                    .stream().map(student -> this.studentMapper.toDto(student)).toList();
 //        }
 //
 //        // If both name and className are provided
 //        return this.studentRepo.findByFirstNameContainingIgnoreCaseAndClassNameContainingIgnoreCase(name, className)
-//                .stream().map(student -> this.modelMapper.map(student, StudentDto.class)).toList();
+//                .stream().map(student -> this.studentMapper.toDto(student)).toList();
 //    }
 
 
     @Override
     public List<EnrollmentByMonth> getEnrollmentByMonth(Integer year) {
-        List<Object[]> rows = this.studentRepo.countStudentsGroupedByMonth(year);
-
-        // Map monthNumber -> count
-        Map<Integer, Long> counts = new HashMap<>();
-        for (Object[] row : rows) {
-            // nativeQuery returns numeric types; cast carefully
-            Integer monthNumber = ((Number) row[0]).intValue(); // 1..12
-            Long cnt = ((Number) row[1]).longValue();
-            counts.put(monthNumber, cnt);
+        return toMonths(this.enrollmentCounterServices.getMonthlyCounts(year));
+    }
+
+    @Override
+    public List<EnrollmentYearDto> getEnrollmentComparison(List<Integer> years) {
+        List<Integer> distinctYears = years.stream().filter(Objects::nonNull).distinct().sorted().toList();
+        if (distinctYears.isEmpty() || distinctYears.size() > MAX_COMPARED_YEARS) {
+            throw new BadRequestException("Between 1 and " + MAX_COMPARED_YEARS + " years can be compared");
         }
+        List<EnrollmentYearDto> result = new ArrayList<>(distinctYears.size());
+        this.enrollmentCounterServices.getMonthlyCounts(distinctYears).forEach((year, counts) ->
+                result.add(new EnrollmentYearDto(year, Arrays.stream(counts).sum(), toMonths(counts))));
+        return result;
+    }
 
+    private List<EnrollmentByMonth> toMonths(long[] counts) {
         List<EnrollmentByMonth> result = new ArrayList<>(12);
         for (int m = 1; m <= 12; m++) {
             // Short English month name like "Jan", "Feb"
             String shortName = Month.of(m).getDisplayName(TextStyle.SHORT, Locale.ENGLISH);
-            long c = counts.getOrDefault(m, 0L);
-            result.add(new EnrollmentByMonth(shortName, c));
+            result.add(new EnrollmentByMonth(shortName, counts[m - 1]));
         }
         return result;
     }
+
     @Override
+    @Cacheable("classDistribution")
     public Map<String, Long> getClassWiseStudentCount() {
-        return this.studentRepo.findAll().stream()
-                .collect(Collectors.groupingBy(Student::getClassName, Collectors.counting()));
+        Map<String, Long> counts = new HashMap<>();
+        for (Object[] row : this.studentRepo.countGroupedByClassName()) {
+            counts.put((String) row[0], ((Number) row[1]).longValue());
+        }
+        return Collections.unmodifiableMap(counts);
     }
 
 
@@ -2,10 +2,11 @@ package com.school.kps.service.Impl;
 
 import com.school.kps.entity.Teacher;
 import com.school.kps.exception.ResourceNotFoundException;
+import com.school.kps.mapper.TeacherMapper;
 import com.school.kps.payload.TeacherDto;
+import com.school.kps.payload.TeacherRow;
 import com.school.kps.repository.TeacherRepo;
 import com.school.kps.service.TeacherService;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -20,7 +21,7 @@ public class TeacherServiceImpl implements TeacherService {
     private TeacherRepo teacherRepo;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private TeacherMapper teacherMapper;
 
     @Override
     public TeacherDto createTeacher(TeacherDto teacherDto) {
@@ -37,12 +38,12 @@ public class TeacherServiceImpl implements TeacherService {
             teacherDto.setLastUpdated(LocalDate.now());
         }
 
-        Teacher teacher = modelMapper.map(teacherDto, Teacher.class);
+        Teacher teacher = teacherMapper.toEntity(teacherDto);
         // If your entity uses Long id (auto-generated) do not set ID from DTO for create
         teacher.setId(null);
 
         Teacher saved = teacherRepo.save(teacher);
-        return modelMapper.map(saved, TeacherDto.class);
+        return teacherMapper.toDto(saved);
     }
 
     @Override
@@ -80,7 +81,7 @@ public class TeacherServiceImpl implements TeacherService {
         existing.setLastUpdated(LocalDate.now());
 
         Teacher updated = teacherRepo.save(existing);
-        return modelMapper.map(updated, TeacherDto.class);
+        return teacherMapper.toDto(updated);
     }
 
     @Override
@@ -88,29 +89,50 @@ public class TeacherServiceImpl implements TeacherService {
         Teacher teacher = teacherRepo.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Teacher", "id", id));
         teacherRepo.delete(teacher);
-        return modelMapper.map(teacher, TeacherDto.class);
+        return teacherMapper.toDto(teacher);
     }
 
     @Override
     public List<TeacherDto> findAllTeachers() {
-        List<Teacher> teachers = teacherRepo.findAll();
-        return teachers.stream()
-                .map(t -> modelMapper.map(t, TeacherDto.class))
+        return teacherRepo.findAllRows().stream()
+                .map(this::toDto)
                 .collect(Collectors.toList());
     }
 
+    private TeacherDto toDto(TeacherRow row) {
+        TeacherDto dto = new TeacherDto();
+        dto.setId(row.id() != null ? row.id().intValue() : null);
+        dto.setFirstName(row.firstName());
+        dto.setLastName(row.lastName());
+        dto.setName(row.name());
+        dto.setQualification(row.qualification());
+        dto.setSubject(row.subject());
+        dto.setSalary(row.salary());
+        dto.setPhone(row.phone());
+        dto.setEmail(row.email());
+        dto.setAddress(row.address());
+        dto.setAadhaarNumber(row.aadhaarNumber());
+        dto.setJoinDate(row.joinDate());
+        dto.setDob(row.dob());
+        dto.setGender(row.gender());
+        dto.setAssignedClass(row.assignedClass());
+        dto.setStatus(row.status());
+        dto.setLastUpdated(row.lastUpdated());
+        return dto;
+    }
+
     @Override
     public TeacherDto findTeacherById(Integer id) {
         Teacher teacher = teacherRepo.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Teacher", "id", id));
-        return modelMapper.map(teacher, TeacherDto.class);
+        return teacherMapper.toDto(teacher);
     }
 
     @Override
     public List<TeacherDto> findTeacher(String name) {
         List<Teacher> teachers = teacherRepo.findByNameContainingIgnoreCase(name);
         return teachers.stream()
-                .map(t -> modelMapper.map(t, TeacherDto.class))
+                .map(t -> teacherMapper.toDto(t))
                 .collect(Collectors.toList());
     }
 }
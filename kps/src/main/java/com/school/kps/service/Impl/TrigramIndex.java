@@ -0,0 +1,85 @@
+package com.school.kps.service.Impl;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Lower-cased trigram -> ids posting lists. Substring lookups intersect the postings of every trigram in
+// the term, then confirm each candidate against the stored text, so results match LIKE '%term%' exactly.
+class TrigramIndex {
+
+    static final int GRAM = 3;
+
+    private final Map<String, Set<Integer>> postings = new ConcurrentHashMap<>();
+    private final Map<Integer, String[]> texts = new ConcurrentHashMap<>();
+
+    void put(Integer id, String... values) {
+        remove(id);
+        String[] lowered = Arrays.stream(values)
+                .filter(Objects::nonNull)
+                .map(v -> v.toLowerCase(Locale.ROOT))
+                .toArray(String[]::new);
+        this.texts.put(id, lowered);
+        for (String value : lowered) {
+            for (String gram : grams(value)) {
+                this.postings.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(id);
+            }
+        }
+    }
+
+    void remove(Integer id) {
+        String[] old = this.texts.remove(id);
+        if (old == null) return;
+        for (String value : old) {
+            for (String gram : grams(value)) {
+                Set<Integer> ids = this.postings.get(gram);
+                if (ids != null) ids.remove(id);
+            }
+        }
+    }
+
+    // Ids whose text contains the term, or null when the term is too short to use the index
+    // or matches more than maxCandidates ids
+    Set<Integer> search(String term, int maxCandidates) {
+        String needle = term.toLowerCase(Locale.ROOT);
+        if (needle.length() < GRAM) return null;
+
+        // Start from the rarest trigram so the intersection only ever shrinks a small set
+        List<Set<Integer>> lists = new ArrayList<>();
+        for (String gram : grams(needle)) {
+            Set<Integer> ids = this.postings.get(gram);
+            if (ids == null || ids.isEmpty()) return Collections.emptySet();
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        Set<Integer> result = new HashSet<>();
+        for (Integer id : lists.get(0)) {
+            if (!inAll(id, lists)) continue;
+            String[] values = this.texts.get(id);
+            if (values == null) continue;
+            for (String value : values) {
+                if (value.contains(needle)) {
+                    result.add(id);
+                    break;
+                }
+            }
+            if (result.size() > maxCandidates) return null;
+        }
+        return result;
+    }
+
+    private boolean inAll(Integer id, List<Set<Integer>> lists) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(id)) return false;
+        }
+        return true;
+    }
+
+    private static Set<String> grams(String value) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            grams.add(value.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+}
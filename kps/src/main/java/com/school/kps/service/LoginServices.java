@@ -0,0 +1,16 @@
+package com.school.kps.service;
+
+import com.school.kps.payload.AuthRequest;
+import com.school.kps.payload.LoginStatsDto;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface LoginServices {
+
+    // Throttles per client IP, per account from that IP and per account (failed attempts only), then
+    // verifies the password on the login executor. Completes with a JWT, or exceptionally with the
+    // AuthenticationException from the check.
+    CompletableFuture<String> login(AuthRequest request, String clientIp);
+
+    LoginStatsDto getLoginStats();
+}
@@ -0,0 +1,11 @@
+package com.school.kps.service;
+
+import com.school.kps.payload.RateLimitGroupStatsDto;
+
+import java.util.List;
+
+// Rate limit and bulkhead counters since startup, one entry per endpoint group
+public interface RateLimitStatsServices {
+
+    List<RateLimitGroupStatsDto> getGroupStats();
+}
@@ -0,0 +1,6 @@
+package com.school.kps.service;
+
+public interface ReceiptNumberServices {
+
+    String nextReceiptNumber();
+}
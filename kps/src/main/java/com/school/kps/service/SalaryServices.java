@@ -1,7 +1,10 @@
 package com.school.kps.service;
 
+import com.school.kps.payload.PayrollRunDto;
 import com.school.kps.payload.SalaryDto;
+import org.springframework.data.domain.Page;
 
+import java.time.LocalDate;
 import java.util.List;
 
 
@@ -13,6 +16,9 @@ public interface SalaryServices {
 
     List<SalaryDto> getAllSalaries();
 
+    Page<SalaryDto> getSalaries(int pageNumber, int pageSize, String sortBy, String sortDir,
+                                String status, LocalDate dateFrom, LocalDate dateTo);
+
     SalaryDto deleteSalary(Integer id);
 
     List<SalaryDto> findSalaryByTeacherName(String name);
@@ -23,5 +29,7 @@ public interface SalaryServices {
 
     SalaryDto getSalaryById(Integer id);
 
+    PayrollRunDto runPayroll(String payPeriod, boolean dryRun, String paymentMode);
+
 
 }
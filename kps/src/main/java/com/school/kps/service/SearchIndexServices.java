@@ -0,0 +1,31 @@
+package com.school.kps.service;
+
+import com.school.kps.entity.Fee;
+import com.school.kps.entity.Student;
+
+import java.util.Collection;
+import java.util.Set;
+
+// Candidate ids for substring search. Every lookup returns null when the index cannot answer
+// (term shorter than three characters, too many matches, index disabled or not built yet) and the
+// caller should fall back to LIKE. A non-null empty set means no committed row matches.
+public interface SearchIndexServices {
+
+    // firstName, lastName, guardianName, guardianPhone
+    Set<Integer> matchStudents(String search);
+
+    // firstName, lastName only
+    Set<Integer> matchStudentNames(String search);
+
+    Set<Integer> matchReceipts(String search);
+
+    void studentSaved(Student student);
+
+    void studentDeleted(Student student);
+
+    void feesSaved(Collection<Fee> fees);
+
+    void feesDeleted(Collection<Fee> fees);
+
+    void rebuild();
+}
@@ -0,0 +1,12 @@
+package com.school.kps.service;
+
+import com.school.kps.payload.StudentImportResponseDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+// Admissions import: CSV (header row first) or NDJSON, read row by row and inserted in chunks
+public interface StudentImportServices {
+
+    StudentImportResponseDto importStudents(InputStream in, String format) throws IOException;
+}
@@ -1,8 +1,12 @@
 package com.school.kps.service;
 
 import com.school.kps.entity.Student;
+import com.school.kps.payload.CursorPageDto;
 import com.school.kps.payload.EnrollmentByMonth;
+import com.school.kps.payload.EnrollmentYearDto;
+import com.school.kps.payload.SlicePageDto;
 import com.school.kps.payload.StudentDto;
+import com.school.kps.payload.StudentProfileDto;
 import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Service;
 
@@ -16,12 +20,16 @@ public interface StudentServices {
     StudentDto updateStudent(StudentDto studentDto, Integer id);
     StudentDto deleteStudent(Integer id);
     StudentDto findStudentById(Integer id);
+    StudentProfileDto getStudentProfile(Integer id);
     List<StudentDto> getStudentsByName(String firstName);
     Page<StudentDto> findAllStudents(Integer page, Integer size, String sortBy, String sortDir, String search,String className, String gender,String location);
+    SlicePageDto<StudentDto> findStudentsSlice(Integer page, Integer size, String sortBy, String sortDir, String search, String className, String gender, String location, boolean approximateCount);
+    CursorPageDto<StudentDto> findStudentsAfter(String cursor, Integer size, String sortBy, String sortDir, String search, String className, String gender, String location);
     List<StudentDto> getStudentsByClassName(String className);
 //    Page<StudentDto> searchStudents(String name, String className);
     Map<String, Long> getStudentStats();
     long getStudentCountByClassName(String className);
     Map<String, Long> getClassWiseStudentCount();
      List<EnrollmentByMonth> getEnrollmentByMonth(Integer year);
+     List<EnrollmentYearDto> getEnrollmentComparison(List<Integer> years);
 }
@@ -15,6 +15,8 @@ public class JwtUtil {
 
     private final SecretKey key;
     private final long jwtExpirationMs;
+    // Immutable and thread-safe, so one instance verifies every request
+    private final JwtParser parser;
 
     // Read from application.properties or use default
     public JwtUtil(
@@ -25,6 +27,7 @@ public class JwtUtil {
         byte[] keyBytes = Decoders.BASE64.decode(secret);
         this.key = Keys.hmacShaKeyFor(keyBytes);
         this.jwtExpirationMs = jwtExpirationMs;
+        this.parser = Jwts.parserBuilder().setSigningKey(this.key).build();
     }
 
     // Generate a new JWT token
@@ -40,6 +43,15 @@ public class JwtUtil {
                 .compact();
     }
 
+    // Parse and verify once; null when the signature is wrong, the token is malformed or it has expired
+    public Claims validateToken(String token) {
+        try {
+            return this.parser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     // Extract username from token
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
@@ -52,17 +64,18 @@ public class JwtUtil {
 
     // Generic claim extractor
     public <T> T extractClaim(String token, Function<Claims, T> resolver) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        Claims claims = this.parser.parseClaimsJws(token).getBody();
         return resolver.apply(claims);
     }
 
+    // Validate already-parsed claims against the user they were issued to
+    public boolean isTokenValid(Claims claims, String username) {
+        return username.equals(claims.getSubject()) && !claims.getExpiration().before(new Date());
+    }
+
     // Validate token and username
     public boolean isTokenValid(String token, String username) {
-        final String extractedUsername = extractUsername(token);
-        return (extractedUsername.equals(username) && !extractExpiration(token).before(new Date()));
+        Claims claims = validateToken(token);
+        return claims != null && isTokenValid(claims, username);
     }
 }
@@ -0,0 +1,47 @@
+package com.school.kps.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Lock-free token bucket in its GCRA form: the whole state is one timestamp, the moment the
+// bucket would be full again, advanced with a CAS per granted token.
+public final class TokenBucket {
+
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    public TokenBucket(long capacity, double tokensPerSecond) {
+        if (capacity < 1 || tokensPerSecond <= 0) {
+            throw new IllegalArgumentException("Token bucket needs capacity >= 1 and a positive refill rate");
+        }
+        this.nanosPerToken = Math.max(1, (long) (1_000_000_000L / tokensPerSecond));
+        this.burstNanos = capacity * this.nanosPerToken;
+        this.fullAt = new AtomicLong(System.nanoTime());
+    }
+
+    // 0 when a token was taken, otherwise the nanos until one will be available
+    public long tryAcquire() {
+        long now = System.nanoTime();
+        while (true) {
+            long current = this.fullAt.get();
+            long next = (current - now > 0 ? current : now) + this.nanosPerToken;
+            long wait = next - now - this.burstNanos;
+            if (wait > 0) return wait;
+            if (this.fullAt.compareAndSet(current, next)) return 0;
+        }
+    }
+
+    // Gives back a token taken by tryAcquire, for an attempt that should not count against the client
+    public void refund() {
+        while (true) {
+            long current = this.fullAt.get();
+            if (current - System.nanoTime() <= 0) return;
+            if (this.fullAt.compareAndSet(current, current - this.nanosPerToken)) return;
+        }
+    }
+
+    // Whole seconds to put in a Retry-After header, never less than 1
+    public static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+    }
+}
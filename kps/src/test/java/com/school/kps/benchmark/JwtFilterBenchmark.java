@@ -0,0 +1,101 @@
+package com.school.kps.benchmark;
+
+import com.school.kps.config.AdminDetailsService;
+import com.school.kps.config.AuthFilterMetrics;
+import com.school.kps.config.JwtAuthenticationFilter;
+import com.school.kps.config.PrincipalCache;
+import com.school.kps.config.VerifiedTokenCache;
+import com.school.kps.entity.Admin;
+import com.school.kps.repository.AdminRepo;
+import com.school.kps.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.mockito.Mockito.*;
+
+// Authenticated requests per second through the JWT check. legacyThreeParses is the path the filter
+// used to take (subject, then subject and expiry again inside isTokenValid, each a full signature
+// check, plus an admin lookup); singleParse verifies once but still loads the admin every request;
+// filter is the current JwtAuthenticationFilter with the verified-token and principal caches.
+// The admin lookup is stubbed with a fixed round trip standing in for the query on MySQL;
+// roundTripMicros=0 isolates the token parsing.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    private static final String SECRET = "YWJjZGVmZ2hpamtsbW5vcHFyc3R1dnd4eXo0NTY3ODkwMTIzNDU2Nzg5MA==";
+    private static final String EMAIL = "admin@kps.school";
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    @Param({"0", "200"})
+    private long roundTripMicros;
+
+    private JwtUtil jwtUtil;
+    private AdminDetailsService adminDetailsService;
+    private JwtAuthenticationFilter filter;
+    private String token;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        Admin admin = new Admin();
+        admin.setEmail(EMAIL);
+        admin.setPassword("{noop}secret");
+        AdminRepo adminRepo = mock(AdminRepo.class, withSettings().stubOnly());
+        when(adminRepo.findByEmail(EMAIL)).thenAnswer(invocation -> {
+            if (this.roundTripMicros > 0) LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(this.roundTripMicros));
+            return Optional.of(admin);
+        });
+
+        AuthFilterMetrics metrics = new AuthFilterMetrics();
+        this.jwtUtil = new JwtUtil(SECRET, 14_400_000L);
+        this.adminDetailsService = new AdminDetailsService(adminRepo, new PrincipalCache(1000, Duration.ofMinutes(5)));
+        this.filter = new JwtAuthenticationFilter(this.jwtUtil, new VerifiedTokenCache(this.jwtUtil, metrics, 10_000),
+                this.adminDetailsService, metrics);
+
+        this.token = this.jwtUtil.generateToken(EMAIL);
+        this.request = new MockHttpServletRequest("GET", "/api/students");
+        this.request.addHeader("Authorization", "Bearer " + this.token);
+        this.response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public boolean legacyThreeParses() {
+        String username = this.jwtUtil.extractUsername(this.token);
+        UserDetails userDetails = this.adminDetailsService.loadUserByUsername(username);
+        return userDetails.getUsername().equals(this.jwtUtil.extractUsername(this.token))
+                && this.jwtUtil.extractExpiration(this.token).getTime() > System.currentTimeMillis();
+    }
+
+    @Benchmark
+    public boolean singleParse() {
+        Claims claims = this.jwtUtil.validateToken(this.token);
+        UserDetails userDetails = this.adminDetailsService.loadUserByUsername(claims.getSubject());
+        return this.jwtUtil.isTokenValid(claims, userDetails.getUsername());
+    }
+
+    @Benchmark
+    public Object filter() throws Exception {
+        try {
+            this.filter.doFilter(this.request, this.response, NO_OP_CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
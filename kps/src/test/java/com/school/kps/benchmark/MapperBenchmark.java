@@ -0,0 +1,85 @@
+package com.school.kps.benchmark;
+
+import com.school.kps.entity.Fee;
+import com.school.kps.entity.Student;
+import com.school.kps.mapper.FeeMapperImpl;
+import com.school.kps.mapper.StudentMapperImpl;
+import com.school.kps.payload.FeeDto;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Entity-to-DTO cost for one page of fees (each with its nested student), the generated MapStruct
+// mapper against the reflective ModelMapper it replaced. ModelMapper is a test-scope dependency only.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"50"})
+    private int pageSize;
+
+    private List<Fee> fees;
+
+    private FeeMapperImpl feeMapper;
+
+    private ModelMapper modelMapper;
+
+    @Setup
+    public void setUp() {
+        Student student = new Student();
+        student.setId(7);
+        student.setFirstName("Asha");
+        student.setLastName("Verma");
+        student.setClassName("3");
+        student.setGender("Female");
+        student.setDob(LocalDate.of(2015, 1, 1));
+
+        this.fees = new ArrayList<>();
+        for (int i = 0; i < this.pageSize; i++) {
+            Fee fee = new Fee();
+            fee.setId(i);
+            fee.setStudent(student);
+            fee.setAcademicYear("2024-2025");
+            fee.setTotalAmount(new BigDecimal("12000"));
+            fee.setAmountPaid(new BigDecimal("4000"));
+            fee.setDueAmount(new BigDecimal("8000"));
+            fee.setPaymentDate(LocalDate.of(2024, 6, 1).plusDays(i));
+            fee.setPaymentMode("Cash");
+            fee.setReceiptNumber("R" + i);
+            fee.setStatus("Partially Paid");
+            this.fees.add(fee);
+        }
+
+        this.feeMapper = new FeeMapperImpl();
+        ReflectionTestUtils.setField(this.feeMapper, "studentMapper", new StudentMapperImpl());
+        this.modelMapper = new ModelMapper();
+    }
+
+    @Benchmark
+    public List<FeeDto> mapStruct() {
+        List<FeeDto> dtos = new ArrayList<>(this.fees.size());
+        for (Fee fee : this.fees) {
+            dtos.add(this.feeMapper.toDto(fee));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public List<FeeDto> modelMapper() {
+        List<FeeDto> dtos = new ArrayList<>(this.fees.size());
+        for (Fee fee : this.fees) {
+            dtos.add(this.modelMapper.map(fee, FeeDto.class));
+        }
+        return dtos;
+    }
+}
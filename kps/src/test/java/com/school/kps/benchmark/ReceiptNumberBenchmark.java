@@ -0,0 +1,60 @@
+package com.school.kps.benchmark;
+
+import com.school.kps.entity.ReceiptSequence;
+import com.school.kps.repository.ReceiptSequenceRepo;
+import com.school.kps.service.Impl.ReceiptNumberServicesImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+// Receipts per second from ReceiptNumberServicesImpl under 8 concurrent callers. The reservation is
+// stubbed with a fixed round trip standing in for the SELECT ... FOR UPDATE + UPDATE on MySQL;
+// blockSize=1 is the one-round-trip-per-receipt behaviour the block allocator replaced.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReceiptNumberBenchmark {
+
+    @Param({"1", "100"})
+    private int blockSize;
+
+    @Param({"500"})
+    private long roundTripMicros;
+
+    private ReceiptNumberServicesImpl receiptNumberServices;
+
+    @Setup
+    public void setUp() {
+        ReceiptSequence row = new ReceiptSequence();
+        ReceiptSequenceRepo repo = mock(ReceiptSequenceRepo.class, withSettings().stubOnly());
+        when(repo.lockForUpdate(ReceiptSequence.ID)).thenAnswer(invocation -> {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(this.roundTripMicros));
+            return Optional.of(row);
+        });
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class, withSettings().stubOnly());
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        this.receiptNumberServices = new ReceiptNumberServicesImpl();
+        ReflectionTestUtils.setField(this.receiptNumberServices, "receiptSequenceRepo", repo);
+        ReflectionTestUtils.setField(this.receiptNumberServices, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(this.receiptNumberServices, "blockSize", this.blockSize);
+        this.receiptNumberServices.init();
+    }
+
+    @Benchmark
+    public String nextReceiptNumber() {
+        return this.receiptNumberServices.nextReceiptNumber();
+    }
+}
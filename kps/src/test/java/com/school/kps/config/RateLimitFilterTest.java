@@ -0,0 +1,89 @@
+package com.school.kps.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    private final RequestThrottle throttle = RequestThrottleTest.throttle(1, "/api/dashboard");
+    private final RateLimitFilter filter = new RateLimitFilter(this.throttle, new ObjectMapper());
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private MockHttpServletResponse call(String path, MockFilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        this.filter.doFilter(new MockHttpServletRequest("GET", path), response, chain);
+        return response;
+    }
+
+    private static void authenticate(String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(email, null, List.of()));
+    }
+
+    @Test
+    void overTheRateIsRejectedWith429AndRetryAfter() throws Exception {
+        authenticate("admin@kps.school");
+        MockFilterChain first = new MockFilterChain();
+        assertEquals(200, call("/api/dashboard", first).getStatus());
+        assertNotNull(first.getRequest());
+
+        MockFilterChain second = new MockFilterChain();
+        MockHttpServletResponse response = call("/api/dashboard", second);
+
+        assertEquals(429, response.getStatus());
+        assertTrue(Long.parseLong(response.getHeader("Retry-After")) >= 1);
+        assertTrue(response.getContentAsString().contains("Rate limit exceeded for analytics"));
+        assertNull(second.getRequest());
+    }
+
+    @Test
+    void fullBulkheadRejectsWithoutSpendingTheClientsToken() throws Exception {
+        authenticate("admin@kps.school");
+        RequestThrottle.Group group = this.throttle.match("/api/dashboard");
+        assertTrue(group.tryEnter());
+
+        MockHttpServletResponse rejected = call("/api/dashboard", new MockFilterChain());
+        assertEquals(429, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+
+        group.exit();
+        MockFilterChain chain = new MockFilterChain();
+        assertEquals(200, call("/api/dashboard", chain).getStatus());
+        assertNotNull(chain.getRequest());
+        assertEquals(0, group.getInFlight());
+    }
+
+    @Test
+    void unmatchedPathsPassThrough() throws Exception {
+        authenticate("admin@kps.school");
+        for (int i = 0; i < 5; i++) {
+            MockFilterChain chain = new MockFilterChain();
+            assertEquals(200, call("/api/students", chain).getStatus());
+            assertNotNull(chain.getRequest());
+        }
+    }
+
+    @Test
+    void unauthenticatedRequestsAreLeftToSecurity() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            MockFilterChain chain = new MockFilterChain();
+            assertEquals(200, call("/api/dashboard", chain).getStatus());
+            assertNotNull(chain.getRequest());
+        }
+        assertEquals(0, this.throttle.match("/api/dashboard").getTrackedClients());
+    }
+}
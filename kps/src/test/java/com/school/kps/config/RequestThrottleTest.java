@@ -0,0 +1,111 @@
+package com.school.kps.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestThrottleTest {
+
+    static RequestThrottle throttle(int maxConcurrent, String... paths) {
+        RateLimitProperties.Group group = new RateLimitProperties.Group();
+        group.setPaths(List.of(paths));
+        group.setBurst(1);
+        group.setPerSecond(0.001);
+        group.setMaxConcurrent(maxConcurrent);
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getGroups().put("analytics", group);
+        return new RequestThrottle(properties);
+    }
+
+    @Test
+    void matchesAntPatternsAndLeavesOtherPathsUnlimited() {
+        RequestThrottle throttle = throttle(1, "/api/dashboard", "/api/students/fee/status/*", "/api/students/fee/className/**");
+
+        assertEquals("analytics", throttle.match("/api/dashboard").getName());
+        assertNotNull(throttle.match("/api/students/fee/status/Paid"));
+        assertNotNull(throttle.match("/api/students/fee/className/3/2024-2025"));
+        assertNull(throttle.match("/api/students/fee/status/Paid/extra"));
+        assertNull(throttle.match("/api/students"));
+    }
+
+    @Test
+    void tryConsumeChargesEachClientSeparately() {
+        RequestThrottle.Group group = throttle(1, "/api/dashboard").match("/api/dashboard");
+
+        assertEquals(0, group.tryConsume("user:a"));
+        assertTrue(group.tryConsume("user:a") > 0);
+        assertEquals(0, group.tryConsume("user:b"));
+
+        group.refund("user:a");
+        assertEquals(0, group.tryConsume("user:a"));
+        assertEquals(1, group.getThrottledByRate());
+    }
+
+    @Test
+    void tryEnterHoldsASlotUntilExit() {
+        RequestThrottle.Group group = throttle(2, "/api/dashboard").match("/api/dashboard");
+
+        assertTrue(group.tryEnter());
+        assertTrue(group.tryEnter());
+        assertFalse(group.tryEnter());
+        group.exit();
+        assertTrue(group.tryEnter());
+
+        assertEquals(2, group.getInFlight());
+        assertEquals(3, group.getAllowed());
+        assertEquals(1, group.getRejectedByBulkhead());
+    }
+
+    @Test
+    void concurrentCallersNeverExceedMaxConcurrent() throws Exception {
+        int maxConcurrent = 3;
+        RequestThrottle.Group group = throttle(maxConcurrent, "/api/dashboard").match("/api/dashboard");
+        LongAccumulator observed = new LongAccumulator(Long::max, 0);
+        AtomicInteger entered = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < 16; t++) {
+                workers.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 2_000; i++) {
+                        if (group.tryEnter()) {
+                            entered.incrementAndGet();
+                            observed.accumulate(group.getInFlight());
+                            Thread.yield();
+                            group.exit();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertTrue(entered.get() > 0);
+        assertTrue(observed.get() <= maxConcurrent, "observed " + observed.get());
+        assertTrue(group.getPeakInFlight() <= maxConcurrent, "peak " + group.getPeakInFlight());
+        assertEquals(0, group.getInFlight());
+    }
+
+    @Test
+    void rejectsAGroupWithoutConcurrency() {
+        assertThrows(IllegalArgumentException.class, () -> throttle(0, "/api/dashboard"));
+    }
+}
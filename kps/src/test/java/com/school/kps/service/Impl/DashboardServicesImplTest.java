@@ -0,0 +1,48 @@
+package com.school.kps.service.Impl;
+
+import com.school.kps.exception.ResourceNotFoundException;
+import com.school.kps.service.FeeServices;
+import com.school.kps.service.StudentServices;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DashboardServicesImplTest {
+
+    private final FeeServices feeServices = mock(FeeServices.class);
+    private final StudentServices studentServices = mock(StudentServices.class);
+
+    private DashboardServicesImpl dashboard(Executor executor) {
+        DashboardServicesImpl dashboard = new DashboardServicesImpl();
+        ReflectionTestUtils.setField(dashboard, "feeServices", this.feeServices);
+        ReflectionTestUtils.setField(dashboard, "studentServices", this.studentServices);
+        AnalyticsFanOut analyticsFanOut = new AnalyticsFanOut();
+        ReflectionTestUtils.setField(analyticsFanOut, "analyticsExecutor", executor);
+        ReflectionTestUtils.setField(dashboard, "analyticsFanOut", analyticsFanOut);
+        return dashboard;
+    }
+
+    @Test
+    void sectionExceptionsKeepTheirType() {
+        when(this.studentServices.getEnrollmentByMonth(1999))
+                .thenThrow(new ResourceNotFoundException("Enrollments", "year", 1999));
+
+        DashboardServicesImpl dashboard = dashboard(Runnable::run);
+
+        assertThrows(ResourceNotFoundException.class, () -> dashboard.getDashboard(null, 1999));
+    }
+
+    @Test
+    void fullExecutorRejectsTheRequest() {
+        DashboardServicesImpl dashboard = dashboard(task -> {
+            throw new TaskRejectedException("analytics queue full");
+        });
+
+        assertThrows(TaskRejectedException.class, () -> dashboard.getDashboard(null, null));
+    }
+}
@@ -0,0 +1,187 @@
+package com.school.kps.service.Impl;
+
+import com.school.kps.entity.Fee;
+import com.school.kps.entity.ReceiptSequence;
+import com.school.kps.entity.Student;
+import com.school.kps.mapper.FeeMapperImpl;
+import com.school.kps.mapper.StudentMapperImpl;
+import com.school.kps.payload.FeeDto;
+import com.school.kps.payload.MonthlyFeeDto;
+import com.school.kps.payload.SlicePageDto;
+import com.school.kps.repository.FeeRepo;
+import com.school.kps.repository.ReceiptSequenceRepo;
+import com.school.kps.repository.StudentRepo;
+import com.school.kps.service.FeeAggregateServices;
+import com.school.kps.service.FeeRollupServices;
+import com.school.kps.service.SearchIndexServices;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class FeeServicesImplTest {
+
+    // Every transaction holds one of these until it ends, like a Hikari connection
+    private final Semaphore pool = new Semaphore(2);
+
+    private PlatformTransactionManager boundedPoolTransactionManager() {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class, withSettings().stubOnly());
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            if (!this.pool.tryAcquire(2, TimeUnit.SECONDS)) {
+                throw new CannotCreateTransactionException("Connection is not available, request timed out");
+            }
+            return new SimpleTransactionStatus();
+        });
+        doAnswer(invocation -> {
+            this.pool.release();
+            return null;
+        }).when(transactionManager).commit(any());
+        doAnswer(invocation -> {
+            this.pool.release();
+            return null;
+        }).when(transactionManager).rollback(any());
+        return transactionManager;
+    }
+
+    @Test
+    void concurrentPostingsRefillReceiptsWithoutStarvingTheConnectionPool() throws Exception {
+        PlatformTransactionManager transactionManager = boundedPoolTransactionManager();
+
+        ReceiptSequence sequence = new ReceiptSequence();
+        ReceiptSequenceRepo receiptSequenceRepo = mock(ReceiptSequenceRepo.class, withSettings().stubOnly());
+        when(receiptSequenceRepo.lockForUpdate(ReceiptSequence.ID)).thenReturn(Optional.of(sequence));
+        ReceiptNumberServicesImpl receiptNumberServices = new ReceiptNumberServicesImpl();
+        ReflectionTestUtils.setField(receiptNumberServices, "receiptSequenceRepo", receiptSequenceRepo);
+        ReflectionTestUtils.setField(receiptNumberServices, "transactionManager", transactionManager);
+        // Every posting needs a refill, the worst case for the pool
+        ReflectionTestUtils.setField(receiptNumberServices, "blockSize", 1);
+        receiptNumberServices.init();
+
+        Student student = new Student();
+        student.setId(7);
+        student.setFirstName("Asha");
+        StudentRepo studentRepo = mock(StudentRepo.class, withSettings().stubOnly());
+        when(studentRepo.findById(7)).thenAnswer(invocation -> {
+            Thread.sleep(5);
+            return Optional.of(student);
+        });
+        FeeRepo feeRepo = mock(FeeRepo.class, withSettings().stubOnly());
+        when(feeRepo.save(any(Fee.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        FeeMapperImpl feeMapper = new FeeMapperImpl();
+        ReflectionTestUtils.setField(feeMapper, "studentMapper", new StudentMapperImpl());
+
+        FeeServicesImpl feeServices = new FeeServicesImpl();
+        ReflectionTestUtils.setField(feeServices, "studentRepo", studentRepo);
+        ReflectionTestUtils.setField(feeServices, "feeRepo", feeRepo);
+        ReflectionTestUtils.setField(feeServices, "feeMapper", feeMapper);
+        ReflectionTestUtils.setField(feeServices, "receiptNumberServices", receiptNumberServices);
+        ReflectionTestUtils.setField(feeServices, "feeAggregateServices", mock(FeeAggregateServices.class, withSettings().stubOnly()));
+        ReflectionTestUtils.setField(feeServices, "feeRollupServices", mock(FeeRollupServices.class, withSettings().stubOnly()));
+        ReflectionTestUtils.setField(feeServices, "searchIndexServices", mock(SearchIndexServices.class, withSettings().stubOnly()));
+        ReflectionTestUtils.setField(feeServices, "transactionManager", transactionManager);
+        feeServices.init();
+
+        int callers = 8;
+        int perCaller = 20;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<String>>> results = new ArrayList<>();
+        for (int t = 0; t < callers; t++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                List<String> receipts = new ArrayList<>();
+                for (int i = 0; i < perCaller; i++) {
+                    FeeDto feeDto = new FeeDto();
+                    feeDto.setAcademicYear("2024-2025");
+                    feeDto.setTotalAmount(new BigDecimal("1000"));
+                    feeDto.setAmountPaid(new BigDecimal("400"));
+                    feeDto.setPaymentDate(LocalDate.of(2024, 6, 1));
+                    receipts.add(feeServices.addFee(feeDto, 7).getReceiptNumber());
+                }
+                return receipts;
+            }));
+        }
+        start.countDown();
+
+        Set<String> receipts = new HashSet<>();
+        try {
+            for (Future<List<String>> result : results) receipts.addAll(result.get(60, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(callers * perCaller, receipts.size());
+        assertEquals(2, this.pool.availablePermits());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void approximateTotalReadsTheAggregateUnlessFilteredBeyondStatus() {
+        FeeRepo feeRepo = mock(FeeRepo.class);
+        when(feeRepo.count(any(Specification.class))).thenReturn(3L);
+        FeeAggregateServices feeAggregateServices = mock(FeeAggregateServices.class);
+        when(feeAggregateServices.countFees(null)).thenReturn(120L);
+        when(feeAggregateServices.countFees("Paid")).thenReturn(80L);
+        SliceQueries sliceQueries = mock(SliceQueries.class, withSettings().stubOnly());
+        when(sliceQueries.findSlice(eq(Fee.class), any(), any(Pageable.class))).thenReturn(new SliceImpl<>(List.of()));
+
+        FeeServicesImpl feeServices = new FeeServicesImpl();
+        ReflectionTestUtils.setField(feeServices, "feeRepo", feeRepo);
+        ReflectionTestUtils.setField(feeServices, "feeAggregateServices", feeAggregateServices);
+        ReflectionTestUtils.setField(feeServices, "sliceQueries", sliceQueries);
+        ReflectionTestUtils.setField(feeServices, "cacheManager", new ConcurrentMapCacheManager("feeCounts"));
+
+        assertEquals(120L, slice(feeServices, null, "").getApproximateTotal());
+        assertEquals(80L, slice(feeServices, null, "Paid").getApproximateTotal());
+        verify(feeRepo, never()).count(any(Specification.class));
+
+        // Other filters count exactly, once per filter until the cache entry expires
+        assertEquals(3L, slice(feeServices, "3", null).getApproximateTotal());
+        assertEquals(3L, slice(feeServices, "3", null).getApproximateTotal());
+        verify(feeRepo, times(1)).count(any(Specification.class));
+    }
+
+    @Test
+    void monthlyTrendKeepsTheTwelveMonthsOfAGivenAcademicYear() {
+        FeeRollupServices feeRollupServices = mock(FeeRollupServices.class, withSettings().stubOnly());
+        // year, month, className, paymentMode, status, count, amountPaid, dueAmount
+        List<Object[]> rows = List.<Object[]>of(
+                new Object[]{2024, 6, "3", "Cash", "Paid", 1L, new BigDecimal("500"), BigDecimal.ZERO},
+                new Object[]{2024, 8, "3", "Cash", "Pending", 1L, BigDecimal.ZERO, new BigDecimal("200")});
+        when(feeRollupServices.sumByMonthClassModeStatus(any(), any(), any())).thenReturn(rows);
+        FeeServicesImpl feeServices = new FeeServicesImpl();
+        ReflectionTestUtils.setField(feeServices, "feeRollupServices", feeRollupServices);
+
+        List<MonthlyFeeDto> year = feeServices.getMonthlyFeeTrend("2024-25", null, null);
+        assertEquals(12, year.size());
+        assertEquals("Apr", year.get(0).getMonth());
+        assertEquals(2024, year.get(0).getYear());
+        assertEquals("Mar", year.get(11).getMonth());
+        assertEquals(2025, year.get(11).getYear());
+        assertEquals(0, new BigDecimal("500").compareTo(year.get(2).getCollected()));
+        assertEquals(0, new BigDecimal("200").compareTo(year.get(4).getPending()));
+
+        // No academic year: first to last month with payments
+        List<MonthlyFeeDto> span = feeServices.getMonthlyFeeTrend(null, null, null);
+        assertEquals(List.of("Jun", "Jul", "Aug"), span.stream().map(MonthlyFeeDto::getMonth).toList());
+    }
+
+    private SlicePageDto<FeeDto> slice(FeeServicesImpl feeServices, String className, String paymentStatus) {
+        return feeServices.getFeesSlice(0, 10, "id", "asc", className, paymentStatus, null, null, null, null, true);
+    }
+}
@@ -0,0 +1,134 @@
+package com.school.kps.service.Impl;
+
+import com.school.kps.exception.BadRequestException;
+import com.school.kps.exception.ResourceNotFoundException;
+import com.school.kps.payload.CashFlowDto;
+import com.school.kps.payload.MonthlyCashFlowDto;
+import com.school.kps.repository.SalaryRepo;
+import com.school.kps.service.FeeRollupServices;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class FinanceServicesImplTest {
+
+    private final FeeRollupServices feeRollupServices = mock(FeeRollupServices.class);
+    private final SalaryRepo salaryRepo = mock(SalaryRepo.class);
+    private FinanceServicesImpl finance;
+
+    @BeforeEach
+    void setUp() {
+        AnalyticsFanOut analyticsFanOut = new AnalyticsFanOut();
+        ReflectionTestUtils.setField(analyticsFanOut, "analyticsExecutor", (Executor) Runnable::run);
+        this.finance = new FinanceServicesImpl();
+        ReflectionTestUtils.setField(this.finance, "feeRollupServices", this.feeRollupServices);
+        ReflectionTestUtils.setField(this.finance, "salaryRepo", this.salaryRepo);
+        ReflectionTestUtils.setField(this.finance, "analyticsFanOut", analyticsFanOut);
+    }
+
+    // year, month, className, paymentMode, status, count, amountPaid, dueAmount
+    private static Object[] feeRow(int year, int month, String amountPaid) {
+        return new Object[]{year, month, "3", "Cash", "Paid", 1L, new BigDecimal(amountPaid), BigDecimal.ZERO};
+    }
+
+    // year, month, status, amount
+    private static Object[] salaryRow(int year, int month, String status, String amount) {
+        return new Object[]{year, month, status, new BigDecimal(amount)};
+    }
+
+    private static MonthlyCashFlowDto month(CashFlowDto cashFlow, String name, int year) {
+        return cashFlow.getMonths().stream()
+                .filter(m -> m.getMonth().equals(name) && m.getYear() == year)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    void bucketsIncomeAndPayrollIntoAprilToMarch() {
+        LocalDate from = LocalDate.of(2024, 4, 1);
+        LocalDate to = LocalDate.of(2025, 3, 31);
+        when(this.feeRollupServices.sumByMonthClassModeStatus(null, from, to)).thenReturn(List.of(
+                feeRow(2024, 4, "1000"), feeRow(2024, 4, "500"), feeRow(2025, 3, "300")));
+        when(this.salaryRepo.sumByMonthAndStatus(from, to)).thenReturn(List.of(
+                salaryRow(2024, 4, "Paid", "800"), salaryRow(2024, 4, "Pending", "200"),
+                salaryRow(2024, 6, "paid", "100")));
+
+        CashFlowDto cashFlow = this.finance.getCashFlow("2024-2025");
+
+        assertEquals("2024-2025", cashFlow.getAcademicYear());
+        assertEquals(from, cashFlow.getDateFrom());
+        assertEquals(to, cashFlow.getDateTo());
+        assertEquals(12, cashFlow.getMonths().size());
+        assertEquals("Apr", cashFlow.getMonths().get(0).getMonth());
+        assertEquals(2024, cashFlow.getMonths().get(0).getYear());
+        assertEquals("Mar", cashFlow.getMonths().get(11).getMonth());
+        assertEquals(2025, cashFlow.getMonths().get(11).getYear());
+
+        MonthlyCashFlowDto april = month(cashFlow, "Apr", 2024);
+        assertEquals(0, new BigDecimal("1500").compareTo(april.getIncome()));
+        assertEquals(0, new BigDecimal("800").compareTo(april.getPayrollPaid()));
+        assertEquals(0, new BigDecimal("200").compareTo(april.getPayrollPending()));
+        // pending payroll has not left the account yet, so it does not reduce net
+        assertEquals(0, new BigDecimal("700").compareTo(april.getNet()));
+
+        MonthlyCashFlowDto june = month(cashFlow, "Jun", 2024);
+        assertEquals(0, BigDecimal.ZERO.compareTo(june.getIncome()));
+        assertEquals(0, new BigDecimal("-100").compareTo(june.getNet()));
+        assertEquals(0, new BigDecimal("300").compareTo(month(cashFlow, "Mar", 2025).getIncome()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(month(cashFlow, "Mar", 2025).getPayrollPaid()));
+
+        assertEquals(0, new BigDecimal("1800").compareTo(cashFlow.getTotalIncome()));
+        assertEquals(0, new BigDecimal("900").compareTo(cashFlow.getTotalPayrollPaid()));
+        assertEquals(0, new BigDecimal("200").compareTo(cashFlow.getTotalPayrollPending()));
+        assertEquals(0, new BigDecimal("900").compareTo(cashFlow.getNet()));
+    }
+
+    @Test
+    void rowsOutsideTheYearAreIgnored() {
+        when(this.feeRollupServices.sumByMonthClassModeStatus(any(), any(), any()))
+                .thenReturn(List.<Object[]>of(feeRow(2025, 4, "999"), new Object[]{null, null, null, null, null, 0L, BigDecimal.TEN, null}));
+        when(this.salaryRepo.sumByMonthAndStatus(any(), any())).thenReturn(List.<Object[]>of(salaryRow(2024, 3, "Paid", "50")));
+
+        CashFlowDto cashFlow = this.finance.getCashFlow("2024-2025");
+
+        assertEquals(0, BigDecimal.ZERO.compareTo(cashFlow.getTotalIncome()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(cashFlow.getTotalPayrollPaid()));
+    }
+
+    @Test
+    void acceptsShortAndLongAcademicYears() {
+        when(this.feeRollupServices.sumByMonthClassModeStatus(any(), any(), any())).thenReturn(List.of());
+        when(this.salaryRepo.sumByMonthAndStatus(any(), any())).thenReturn(List.of());
+
+        assertEquals("2024-2025", this.finance.getCashFlow("2024-25").getAcademicYear());
+        assertEquals("2024-2025", this.finance.getCashFlow(" 2024-2025 ").getAcademicYear());
+        assertEquals("2099-2100", this.finance.getCashFlow("2099-00").getAcademicYear());
+        verify(this.salaryRepo, times(2)).sumByMonthAndStatus(LocalDate.of(2024, 4, 1), LocalDate.of(2025, 3, 31));
+    }
+
+    @Test
+    void malformedOrNonConsecutiveYearsAreBadRequests() {
+        for (String academicYear : List.of("2024", "2024/25", "24-25", "2024-2026", "2024-24", "2024-2023", "abcd-efgh")) {
+            assertThrows(BadRequestException.class, () -> this.finance.getCashFlow(academicYear), academicYear);
+        }
+        verifyNoInteractions(this.feeRollupServices, this.salaryRepo);
+    }
+
+    @Test
+    void sectionExceptionsKeepTheirType() {
+        when(this.feeRollupServices.sumByMonthClassModeStatus(any(), any(), any())).thenReturn(List.of());
+        when(this.salaryRepo.sumByMonthAndStatus(any(), any()))
+                .thenThrow(new ResourceNotFoundException("Salary", "year", 2024));
+
+        assertThrows(ResourceNotFoundException.class, () -> this.finance.getCashFlow("2024-2025"));
+    }
+}
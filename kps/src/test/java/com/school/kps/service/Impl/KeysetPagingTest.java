@@ -0,0 +1,98 @@
+package com.school.kps.service.Impl;
+
+import com.school.kps.exception.BadRequestException;
+import com.school.kps.payload.FeeDto;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SuppressWarnings({"unchecked", "rawtypes"})
+class KeysetPagingTest {
+
+    private KeysetPaging keysetPaging;
+
+    private final Root<FeeDto> root = mock(Root.class);
+    private final CriteriaQuery<?> query = mock(CriteriaQuery.class);
+    private final CriteriaBuilder cb = mock(CriteriaBuilder.class);
+    private final Path idPath = mock(Path.class);
+    private final Path datePath = mock(Path.class);
+
+    @BeforeEach
+    void setUp() {
+        this.keysetPaging = new KeysetPaging();
+        // Same defaults as the Boot-configured mapper: dates as ISO strings
+        ReflectionTestUtils.setField(this.keysetPaging, "objectMapper", Jackson2ObjectMapperBuilder.json().build());
+        doReturn(this.idPath).when(this.root).get("id");
+        doReturn(this.datePath).when(this.root).get("paymentDate");
+        doReturn(LocalDate.class).when(this.datePath).getJavaType();
+    }
+
+    private static FeeDto fee(Integer id, LocalDate paymentDate) {
+        FeeDto fee = new FeeDto();
+        fee.setId(id);
+        fee.setPaymentDate(paymentDate);
+        return fee;
+    }
+
+    @Test
+    void cursorCarriesTypedSortValueAndId() {
+        String cursor = this.keysetPaging.cursorFor(fee(42, LocalDate.of(2024, 6, 1)), "paymentDate", "asc");
+        assertFalse(cursor.matches(".*[+/=].*"), "cursor must be URL safe: " + cursor);
+
+        Specification<FeeDto> after = this.keysetPaging.after(cursor, "paymentDate", "ASC");
+        after.toPredicate(this.root, this.query, this.cb);
+
+        verify(this.cb).greaterThan(this.idPath, 42);
+        verify(this.cb).greaterThan((Path) this.datePath, (Comparable) LocalDate.of(2024, 6, 1));
+        verify(this.cb).equal(this.datePath, LocalDate.of(2024, 6, 1));
+    }
+
+    @Test
+    void descendingNullSortValueStaysAmongNulls() {
+        String cursor = this.keysetPaging.cursorFor(fee(7, null), "paymentDate", "desc");
+
+        this.keysetPaging.<FeeDto>after(cursor, "paymentDate", "desc").toPredicate(this.root, this.query, this.cb);
+
+        verify(this.cb).lessThan(this.idPath, 7);
+        verify(this.cb).isNull(this.datePath);
+        verify(this.cb, never()).isNotNull(any());
+    }
+
+    @Test
+    void idSortComparesIdOnly() {
+        String cursor = this.keysetPaging.cursorFor(fee(5, LocalDate.now()), "id", "desc");
+
+        this.keysetPaging.<FeeDto>after(cursor, "id", "desc").toPredicate(this.root, this.query, this.cb);
+
+        verify(this.cb).lessThan(this.idPath, 5);
+        verify(this.root, never()).get("paymentDate");
+    }
+
+    @Test
+    void missingCursorMatchesEverything() {
+        this.keysetPaging.<FeeDto>after(null, "paymentDate", "asc").toPredicate(this.root, this.query, this.cb);
+        this.keysetPaging.<FeeDto>after("", "paymentDate", "asc").toPredicate(this.root, this.query, this.cb);
+
+        verify(this.cb, times(2)).conjunction();
+    }
+
+    @Test
+    void rejectsCursorForAnotherSortOrGarbage() {
+        String cursor = this.keysetPaging.cursorFor(fee(42, LocalDate.of(2024, 6, 1)), "paymentDate", "asc");
+
+        assertThrows(BadRequestException.class, () -> this.keysetPaging.after(cursor, "paymentDate", "desc"));
+        assertThrows(BadRequestException.class, () -> this.keysetPaging.after(cursor, "amountPaid", "asc"));
+        assertThrows(BadRequestException.class, () -> this.keysetPaging.after("not a cursor!", "id", "asc"));
+    }
+}
@@ -0,0 +1,92 @@
+package com.school.kps.service.Impl;
+
+import com.school.kps.exception.TooManyRequestsException;
+import com.school.kps.payload.AuthRequest;
+import com.school.kps.util.JwtUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class LoginServicesImplTest {
+
+    private static final String ADMIN = "admin@kps.school";
+
+    private final AuthenticationManager authenticationManager = mock(AuthenticationManager.class);
+    private final ThreadPoolTaskExecutor loginExecutor = new ThreadPoolTaskExecutor();
+    private LoginServicesImpl loginServices;
+
+    @BeforeEach
+    void setUp() {
+        when(this.authenticationManager.authenticate(any())).thenAnswer(invocation -> {
+            Authentication attempt = invocation.getArgument(0);
+            if (!"right".equals(attempt.getCredentials())) throw new BadCredentialsException("Bad credentials");
+            return attempt;
+        });
+        this.loginExecutor.setCorePoolSize(1);
+        this.loginExecutor.initialize();
+
+        this.loginServices = new LoginServicesImpl();
+        ReflectionTestUtils.setField(this.loginServices, "authenticationManager", this.authenticationManager);
+        ReflectionTestUtils.setField(this.loginServices, "jwtUtil",
+                new JwtUtil("YWJjZGVmZ2hpamtsbW5vcHFyc3R1dnd4eXo0NTY3ODkwMTIzNDU2Nzg5MA==", 60_000));
+        ReflectionTestUtils.setField(this.loginServices, "loginExecutor", this.loginExecutor);
+        ReflectionTestUtils.setField(this.loginServices, "ipBurst", 100L);
+        ReflectionTestUtils.setField(this.loginServices, "ipPerMinute", 0.001);
+        ReflectionTestUtils.setField(this.loginServices, "accountIpBurst", 3L);
+        ReflectionTestUtils.setField(this.loginServices, "accountIpPerMinute", 0.001);
+        ReflectionTestUtils.setField(this.loginServices, "accountBurst", 6L);
+        ReflectionTestUtils.setField(this.loginServices, "accountPerMinute", 0.001);
+        ReflectionTestUtils.setField(this.loginServices, "maxTrackedClients", 1000L);
+        this.loginServices.initBuckets();
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.loginExecutor.shutdown();
+    }
+
+    private String login(String password, String ip) {
+        AuthRequest request = new AuthRequest();
+        request.setEmail(ADMIN);
+        request.setPassword(password);
+        return this.loginServices.login(request, ip).join();
+    }
+
+    @Test
+    void guessesFromOneAddressDoNotLockTheAdminOutElsewhere() {
+        for (int i = 0; i < 3; i++) {
+            assertThrows(CompletionException.class, () -> login("wrong", "10.0.0.1"));
+        }
+        assertThrows(TooManyRequestsException.class, () -> login("right", "10.0.0.1"));
+
+        assertNotNull(login("right", "10.0.0.2"));
+    }
+
+    @Test
+    void guessesSpreadOverAddressesHitTheAccountLimit() {
+        for (int i = 0; i < 6; i++) {
+            String ip = "10.0.1." + i;
+            assertThrows(CompletionException.class, () -> login("wrong", ip));
+        }
+
+        assertThrows(TooManyRequestsException.class, () -> login("wrong", "10.0.1.99"));
+    }
+
+    @Test
+    void successfulLoginsAreNotCharged() {
+        for (int i = 0; i < 10; i++) {
+            assertNotNull(login("right", "10.0.2.1"));
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.school.kps.service.Impl;
+
+import com.school.kps.entity.ReceiptSequence;
+import com.school.kps.repository.ReceiptSequenceRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ReceiptNumberServicesImplTest {
+
+    // Stands in for the receipt_sequence row that all instances share
+    private ReceiptSequence row;
+    private final AtomicInteger reservations = new AtomicInteger();
+    private ReceiptSequenceRepo repo;
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        this.repo = mock(ReceiptSequenceRepo.class, withSettings().stubOnly());
+        when(this.repo.lockForUpdate(ReceiptSequence.ID)).thenAnswer(invocation -> {
+            synchronized (this) {
+                if (this.row == null) return Optional.empty();
+                this.reservations.incrementAndGet();
+                return Optional.of(this.row);
+            }
+        });
+        doAnswer(invocation -> {
+            synchronized (this) {
+                if (this.row == null) this.row = new ReceiptSequence();
+            }
+            return null;
+        }).when(this.repo).createIfMissing(ReceiptSequence.ID);
+
+        this.transactionManager = mock(PlatformTransactionManager.class, withSettings().stubOnly());
+        when(this.transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    private ReceiptNumberServicesImpl service(int blockSize) {
+        ReceiptNumberServicesImpl service = new ReceiptNumberServicesImpl();
+        ReflectionTestUtils.setField(service, "receiptSequenceRepo", this.repo);
+        ReflectionTestUtils.setField(service, "transactionManager", this.transactionManager);
+        ReflectionTestUtils.setField(service, "blockSize", blockSize);
+        service.init();
+        return service;
+    }
+
+    @Test
+    void createsTheRowOnFirstUseAndNumbersRunAcrossBlocks() {
+        ReceiptNumberServicesImpl service = service(3);
+        String today = LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE);
+
+        List<String> numbers = new ArrayList<>();
+        for (int i = 0; i < 7; i++) numbers.add(service.nextReceiptNumber());
+
+        assertEquals("RCP" + today + "000001", numbers.get(0));
+        assertEquals("RCP" + today + "000007", numbers.get(6));
+        assertEquals(7, new HashSet<>(numbers).size());
+        // 7 numbers from blocks of 3: one database round trip per block, not per number
+        assertEquals(3, this.reservations.get());
+        assertEquals(10, this.row.getNextValue());
+    }
+
+    @Test
+    void instancesSharingTheRowNeverOverlap() {
+        ReceiptNumberServicesImpl first = service(5);
+        ReceiptNumberServicesImpl second = service(5);
+
+        Set<String> numbers = new HashSet<>();
+        for (int i = 0; i < 12; i++) {
+            assertTrue(numbers.add(first.nextReceiptNumber()));
+            assertTrue(numbers.add(second.nextReceiptNumber()));
+        }
+    }
+
+    @Test
+    void concurrentCallersNeverShareANumber() throws Exception {
+        ReceiptNumberServicesImpl service = service(100);
+        int threads = 8;
+        int perThread = 2000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<String>>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                List<String> numbers = new ArrayList<>(perThread);
+                for (int i = 0; i < perThread; i++) numbers.add(service.nextReceiptNumber());
+                return numbers;
+            }));
+        }
+        start.countDown();
+
+        Set<String> all = new HashSet<>();
+        for (Future<List<String>> result : results) all.addAll(result.get(30, TimeUnit.SECONDS));
+        pool.shutdown();
+
+        assertEquals(threads * perThread, all.size());
+        assertEquals(threads * perThread / 100, this.reservations.get());
+    }
+}
@@ -0,0 +1,79 @@
+package com.school.kps.service.Impl;
+
+import com.school.kps.entity.Student;
+import com.school.kps.repository.FeeRepo;
+import com.school.kps.repository.StudentRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SearchIndexServicesImplTest {
+
+    @Mock
+    private StudentRepo studentRepo;
+
+    @Mock
+    private FeeRepo feeRepo;
+
+    @InjectMocks
+    private SearchIndexServicesImpl searchIndexServices;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(this.searchIndexServices, "maxCandidates", 1000);
+        ReflectionTestUtils.setField(this.searchIndexServices, "enabled", true);
+    }
+
+    @Test
+    void unbuiltIndexDefersToLike() {
+        assertNull(this.searchIndexServices.matchStudents("sharma"));
+        assertNull(this.searchIndexServices.matchReceipts("rcpt"));
+    }
+
+    @Test
+    void disabledIndexDefersToLike() {
+        ReflectionTestUtils.setField(this.searchIndexServices, "enabled", false);
+        this.searchIndexServices.rebuild();
+
+        assertNull(this.searchIndexServices.matchStudentNames("sharma"));
+    }
+
+    @Test
+    void changesCommittedDuringRebuildSurviveTheSwap() {
+        List<Object[]> snapshot = new ArrayList<>();
+        snapshot.add(new Object[]{1, "Aarav", "Sharma", "Raj Sharma", "9876500000"});
+        when(this.studentRepo.findSearchFields()).thenAnswer(invocation -> {
+            // committed after the snapshot was taken, so only the replay can bring it over
+            this.searchIndexServices.studentSaved(student(2, "Riya", "Verma"));
+            this.searchIndexServices.studentSaved(student(1, "Aarav", "Mehta"));
+            return snapshot;
+        });
+        when(this.feeRepo.findReceiptNumbers()).thenReturn(List.of());
+
+        this.searchIndexServices.rebuild();
+
+        assertEquals(Set.of(2), this.searchIndexServices.matchStudentNames("verma"));
+        assertEquals(Set.of(1), this.searchIndexServices.matchStudentNames("mehta"));
+        assertEquals(Set.of(), this.searchIndexServices.matchStudentNames("sharma"));
+    }
+
+    private static Student student(int id, String firstName, String lastName) {
+        Student student = new Student();
+        student.setId(id);
+        student.setFirstName(firstName);
+        student.setLastName(lastName);
+        return student;
+    }
+}
@@ -0,0 +1,87 @@
+package com.school.kps.service.Impl;
+
+import com.school.kps.payload.StudentImportResponseDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentImportCsvReaderTest {
+
+    private final StudentImportServicesImpl importServices = new StudentImportServicesImpl();
+
+    @Test
+    void splitsPlainFieldsAndKeepsEmptyOnes() {
+        assertEquals(List.of(List.of("Asha", "", "3", "")), records("Asha,,3,\n"));
+    }
+
+    @Test
+    void quotedFieldsMayHoldCommasQuotesAndLineBreaks() {
+        List<List<String>> records = records("\"Verma, Asha\",\"say \"\"hi\"\"\",\"12 Main St\r\nFlat 4\"\nnext\n");
+
+        assertEquals(2, records.size());
+        assertEquals(List.of("Verma, Asha", "say \"hi\"", "12 Main St\r\nFlat 4"), records.get(0));
+        assertEquals(List.of("next"), records.get(1));
+    }
+
+    @Test
+    void crlfLineEndingsAreStripped() {
+        assertEquals(List.of(List.of("a", "b"), List.of("c", "d")), records("a,b\r\nc,d\r\n"));
+    }
+
+    @Test
+    void lastRecordNeedsNoLineBreak() {
+        assertEquals(List.of(List.of("a", "b"), List.of("c", "\"x\"")), records("a,b\nc,\"\"\"x\"\"\""));
+    }
+
+    @Test
+    void blankLineIsOneEmptyFieldAndEndOfInputIsNull() throws Exception {
+        BufferedReader reader = new BufferedReader(new StringReader("\n"));
+
+        assertEquals(List.of(""), read(reader));
+        assertNull(read(reader));
+    }
+
+    @Test
+    void unclosedQuoteIsCappedAndReadingResumesAtTheNextLine() {
+        String runaway = "\"" + "x".repeat(StudentImportServicesImpl.MAX_CSV_RECORD_CHARS) + "\nnext,row\n";
+        BufferedReader reader = new BufferedReader(new StringReader(runaway));
+
+        assertThrows(StudentImportServicesImpl.CsvRecordTooLongException.class, () -> read(reader));
+        assertEquals(List.of("next", "row"), read(reader));
+        assertNull(read(reader));
+    }
+
+    @Test
+    void oversizedRecordIsReportedAsAFailedRow() throws Exception {
+        String csv = "firstName,lastName,gender,className,dob,address,phone,aadhaarNumber,guardianName,guardianPhone\n"
+                + "\"" + "x".repeat(StudentImportServicesImpl.MAX_CSV_RECORD_CHARS + 10);
+
+        StudentImportResponseDto response = this.importServices.importStudents(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), "csv");
+
+        assertEquals(1, response.getFailed());
+        assertEquals(1, response.getErrors().get(0).getRow());
+        assertTrue(response.getErrors().get(0).getMessage().contains("unclosed quote"));
+    }
+
+    private List<List<String>> records(String csv) {
+        BufferedReader reader = new BufferedReader(new StringReader(csv));
+        List<List<String>> records = new ArrayList<>();
+        for (List<String> record = read(reader); record != null; record = read(reader)) {
+            records.add(record);
+        }
+        return records;
+    }
+
+    private List<String> read(BufferedReader reader) {
+        return ReflectionTestUtils.invokeMethod(this.importServices, "readCsvRecord", reader);
+    }
+}
@@ -0,0 +1,59 @@
+package com.school.kps.service.Impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrigramIndexTest {
+
+    @Test
+    void matchesSubstringsCaseInsensitively() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1, "Aarav", "Sharma");
+        index.put(2, "Riya", "Verma");
+        index.put(3, "Kabir", null);
+
+        assertEquals(Set.of(1), index.search("ARMA", 100));
+        assertEquals(Set.of(1, 2), index.search("RMA", 100));
+        assertEquals(Set.of(3), index.search("abi", 100));
+        assertEquals(Set.of(), index.search("xyz", 100));
+    }
+
+    @Test
+    void confirmsCandidatesAgainstStoredText() {
+        TrigramIndex index = new TrigramIndex();
+        // every trigram of "abcd" is present, but not the term itself
+        index.put(1, "abcxbcd");
+        index.put(2, "zabcdz");
+
+        assertEquals(Set.of(2), index.search("abcd", 100));
+    }
+
+    @Test
+    void returnsNullWhenIndexCannotAnswer() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1, "Sharma");
+        index.put(2, "Verma");
+        index.put(3, "Karma");
+
+        assertNull(index.search("ar", 100));
+        assertNull(index.search("rma", 2));
+        assertEquals(Set.of(1, 2, 3), index.search("rma", 3));
+    }
+
+    @Test
+    void putReplacesAndRemoveDropsOldText() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1, "Sharma");
+        index.put(1, "Verma");
+
+        assertEquals(Set.of(), index.search("sharma", 100));
+        assertEquals(Set.of(1), index.search("verma", 100));
+
+        index.remove(1);
+        assertEquals(Set.of(), index.search("verma", 100));
+        index.remove(42);
+    }
+}
@@ -0,0 +1,63 @@
+package com.school.kps.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    @Test
+    void burstIsGrantedThenClientMustWaitForOneToken() {
+        // 20 tokens/s: one token every 50 ms
+        TokenBucket bucket = new TokenBucket(3, 20);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, bucket.tryAcquire());
+        }
+        long wait = bucket.tryAcquire();
+
+        assertTrue(wait > 0 && wait <= TimeUnit.MILLISECONDS.toNanos(50), "wait was " + wait);
+    }
+
+    @Test
+    void tokenIsAvailableOnceTheWaitHasPassed() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(1, 20);
+        assertEquals(0, bucket.tryAcquire());
+
+        long wait = bucket.tryAcquire();
+        assertTrue(wait > 0);
+        TimeUnit.NANOSECONDS.sleep(wait + TimeUnit.MILLISECONDS.toNanos(5));
+
+        assertEquals(0, bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire() > 0);
+    }
+
+    @Test
+    void refundGivesTheTokenBackButNeverOverfills() {
+        TokenBucket bucket = new TokenBucket(2, 0.001);
+        bucket.refund();
+        assertEquals(0, bucket.tryAcquire());
+        assertEquals(0, bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire() > 0);
+
+        bucket.refund();
+
+        assertEquals(0, bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire() > 0);
+    }
+
+    @Test
+    void retryAfterRoundsUpToWholeSeconds() {
+        assertEquals(1, TokenBucket.retryAfterSeconds(1));
+        assertEquals(1, TokenBucket.retryAfterSeconds(1_000_000_000L));
+        assertEquals(2, TokenBucket.retryAfterSeconds(1_000_000_001L));
+    }
+
+    @Test
+    void rejectsEmptyOrStoppedBuckets() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(1, 0));
+    }
+}